@@ -0,0 +1,512 @@
+package base;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Diese Klasse berechnet eine Delaunay-Triangulierung einer Punktmenge in O(n log n).
+ * Verwendet wird ein Sweep-Hull-Verfahren: Die Punkte werden nach ihrem Abstand zu einem Startdreieck sortiert und
+ * nacheinander an die konvexe Hülle angefügt. Anschließend werden Kanten so lange gedreht, bis die Delaunay-Bedingung
+ * erfüllt ist.
+ *
+ * Die Dreiecke werden als Half-Edge-Struktur gespeichert: Das Dreieck t besteht aus den Punkten
+ * triangles[3t], triangles[3t+1] und triangles[3t+2]. halfedges[e] gibt die gegenüberliegende Half-Edge von e an oder -1,
+ * falls e auf der konvexen Hülle liegt.
+ *
+ * Punkte mit (nahezu) identischen Koordinaten werden nur einmal trianguliert und in {@link #getEdges()} mit dem
+ * triangulierten Punkt verbunden, unabhängig davon, an welcher Stelle sie in der Sortierung liegen.
+ */
+public class Delaunay {
+
+    private static final double EPSILON = Math.pow(2, -52);
+
+    private final double[] coords;
+    private int[] triangles;
+    private int[] halfedges;
+    private int trianglesLength;
+    private int[] edges;
+
+    // Konvexe Hülle während der Berechnung
+    private int[] hullPrev;
+    private int[] hullNext;
+    private int[] hullTri;
+    private int[] hullHash;
+    private int hullStart;
+    private double centerX, centerY;
+
+    private final int[] edgeStack = new int[512];
+
+    /**
+     * Berechnet die Triangulierung der gegebenen Punkte
+     * @param coords die Koordinaten der Punkte in der Form [x0, y0, x1, y1, ...]
+     */
+    public Delaunay(double[] coords) {
+        this.coords = coords;
+        int n = coords.length / 2;
+        int maxTriangles = Math.max(2 * n - 5, 0);
+        this.triangles = new int[maxTriangles * 3];
+        this.halfedges = new int[maxTriangles * 3];
+        triangulate(n);
+    }
+
+    /**
+     * @return die Punktindizes der Dreiecke, je drei aufeinanderfolgende Einträge bilden ein Dreieck
+     */
+    public int[] getTriangles() {
+        return Arrays.copyOf(triangles, trianglesLength);
+    }
+
+    /**
+     * @return die gegenüberliegende Half-Edge jeder Half-Edge oder -1 für Kanten auf der Hülle
+     */
+    public int[] getHalfedges() {
+        return Arrays.copyOf(halfedges, trianglesLength);
+    }
+
+    /**
+     * Gibt alle Kanten der Triangulierung genau einmal zurück. Sind alle Punkte kollinear, werden die Punkte entlang
+     * der Geraden verbunden. Der zurückgegebene Graph ist damit immer zusammenhängend.
+     * @return die Kanten in der Form [a0, b0, a1, b1, ...]
+     */
+    public int[] getEdges() {
+        return edges;
+    }
+
+    private void triangulate(int n) {
+        if (n < 2) {
+            edges = new int[0];
+            return;
+        }
+
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            double x = coords[2 * i], y = coords[2 * i + 1];
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+            ids[i] = i;
+        }
+        double cx = (minX + maxX) / 2;
+        double cy = (minY + maxY) / 2;
+
+        // Jeder Punkt wird auf den ersten Punkt mit gleichen Koordinaten abgebildet. Die Startpunkte unten werden mit
+        // strikten Vergleichen in aufsteigender Reihenfolge gewählt und sind daher immer solche Repräsentanten.
+        int[] representative = new int[n];
+        Map<PointKey, Integer> firstIndex = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Integer first = firstIndex.putIfAbsent(new PointKey(coords[2 * i], coords[2 * i + 1]), i);
+            representative[i] = first != null ? first : i;
+        }
+
+        // Startpunkt nahe der Mitte
+        int i0 = 0;
+        double minDist = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double d = dist(cx, cy, coords[2 * i], coords[2 * i + 1]);
+            if (d < minDist) {
+                i0 = i;
+                minDist = d;
+            }
+        }
+        double i0x = coords[2 * i0], i0y = coords[2 * i0 + 1];
+
+        // Nächster Punkt zum Startpunkt
+        int i1 = -1;
+        minDist = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            if (i == i0)
+                continue;
+            double d = dist(i0x, i0y, coords[2 * i], coords[2 * i + 1]);
+            if (d < minDist && d > 0) {
+                i1 = i;
+                minDist = d;
+            }
+        }
+
+        // Dritter Punkt mit dem kleinsten Umkreis
+        int i2 = -1;
+        double minRadius = Double.POSITIVE_INFINITY;
+        if (i1 >= 0) {
+            double i1x = coords[2 * i1], i1y = coords[2 * i1 + 1];
+            for (int i = 0; i < n; i++) {
+                if (i == i0 || i == i1)
+                    continue;
+                double r = circumradius(i0x, i0y, i1x, i1y, coords[2 * i], coords[2 * i + 1]);
+                if (r < minRadius) {
+                    i2 = i;
+                    minRadius = r;
+                }
+            }
+        }
+
+        if (minRadius == Double.POSITIVE_INFINITY) {
+            // Alle Punkte liegen auf einer Geraden
+            double[] dists = new double[n];
+            for (int i = 0; i < n; i++) {
+                dists[i] = (coords[2 * i] - coords[0]) != 0 ? coords[2 * i] - coords[0] : coords[2 * i + 1] - coords[1];
+            }
+            quicksort(ids, dists, 0, n - 1);
+            edges = new int[2 * (n - 1)];
+            for (int i = 0; i < n - 1; i++) {
+                edges[2 * i] = ids[i];
+                edges[2 * i + 1] = ids[i + 1];
+            }
+            return;
+        }
+
+        if (orient(i0x, i0y, coords[2 * i1], coords[2 * i1 + 1], coords[2 * i2], coords[2 * i2 + 1])) {
+            int tmp = i1;
+            i1 = i2;
+            i2 = tmp;
+        }
+        double i1x = coords[2 * i1], i1y = coords[2 * i1 + 1];
+        double i2x = coords[2 * i2], i2y = coords[2 * i2 + 1];
+
+        circumcenter(i0x, i0y, i1x, i1y, i2x, i2y);
+
+        double[] dists = new double[n];
+        for (int i = 0; i < n; i++) {
+            dists[i] = dist(coords[2 * i], coords[2 * i + 1], centerX, centerY);
+        }
+        quicksort(ids, dists, 0, n - 1);
+
+        int hashSize = (int) Math.ceil(Math.sqrt(n));
+        hullPrev = new int[n];
+        hullNext = new int[n];
+        hullTri = new int[n];
+        hullHash = new int[hashSize];
+        Arrays.fill(hullHash, -1);
+
+        hullStart = i0;
+        hullNext[i0] = hullPrev[i2] = i1;
+        hullNext[i1] = hullPrev[i0] = i2;
+        hullNext[i2] = hullPrev[i1] = i0;
+        hullTri[i0] = 0;
+        hullTri[i1] = 1;
+        hullTri[i2] = 2;
+        hullHash[hashKey(i0x, i0y, hashSize)] = i0;
+        hullHash[hashKey(i1x, i1y, hashSize)] = i1;
+        hullHash[hashKey(i2x, i2y, hashSize)] = i2;
+
+        trianglesLength = 0;
+        addTriangle(i0, i1, i2, -1, -1, -1);
+
+        int[] duplicates = new int[2 * n];
+        int duplicateCount = 0;
+        int previous = -1;
+        for (int k = 0; k < n; k++) {
+            int i = ids[k];
+            double x = coords[2 * i], y = coords[2 * i + 1];
+
+            // Doppelte Punkte überspringen, sie werden nur mit dem triangulierten Punkt verbunden
+            if (representative[i] != i) {
+                duplicates[duplicateCount++] = i;
+                duplicates[duplicateCount++] = representative[i];
+                continue;
+            }
+            // Nahezu identische Punkte liegen in der Sortierung direkt hintereinander
+            if (previous >= 0 && Math.abs(x - coords[2 * previous]) <= EPSILON && Math.abs(y - coords[2 * previous + 1]) <= EPSILON) {
+                duplicates[duplicateCount++] = i;
+                duplicates[duplicateCount++] = previous;
+                continue;
+            }
+            previous = i;
+
+            if (i == i0 || i == i1 || i == i2)
+                continue;
+
+            // Sichtbare Kante der Hülle über die Hash-Tabelle finden
+            int start = 0;
+            int key = hashKey(x, y, hashSize);
+            for (int j = 0; j < hashSize; j++) {
+                start = hullHash[(key + j) % hashSize];
+                if (start != -1 && start != hullNext[start])
+                    break;
+            }
+
+            start = hullPrev[start];
+            int e = start, q;
+            while (!orient(x, y, coords[2 * e], coords[2 * e + 1], coords[2 * (q = hullNext[e])], coords[2 * q + 1])) {
+                e = q;
+                if (e == start) {
+                    e = -1;
+                    break;
+                }
+            }
+
+            // Der Punkt liegt numerisch auf der Hülle und kann nicht eingefügt werden. Er wird wie ein doppelter Punkt
+            // mit dem nächsten Punkt der Hülle verbunden, damit die Kanten zusammenhängend bleiben.
+            if (e == -1) {
+                duplicates[duplicateCount++] = i;
+                duplicates[duplicateCount++] = start;
+                continue;
+            }
+
+            int t = addTriangle(e, i, hullNext[e], -1, -1, hullTri[e]);
+            hullTri[i] = legalize(t + 2);
+            hullTri[e] = t;
+
+            // Vorwärts entlang der Hülle weitere Dreiecke hinzufügen
+            int next = hullNext[e];
+            while (orient(x, y, coords[2 * next], coords[2 * next + 1], coords[2 * (q = hullNext[next])], coords[2 * q + 1])) {
+                t = addTriangle(next, i, q, hullTri[i], -1, hullTri[next]);
+                hullTri[i] = legalize(t + 2);
+                hullNext[next] = next; // als entfernt markieren
+                next = q;
+            }
+
+            // Rückwärts entlang der Hülle weitere Dreiecke hinzufügen
+            if (e == start) {
+                while (orient(x, y, coords[2 * (q = hullPrev[e])], coords[2 * q + 1], coords[2 * e], coords[2 * e + 1])) {
+                    t = addTriangle(q, i, e, -1, hullTri[e], hullTri[q]);
+                    legalize(t + 2);
+                    hullTri[q] = t;
+                    hullNext[e] = e; // als entfernt markieren
+                    e = q;
+                }
+            }
+
+            hullStart = hullPrev[i] = e;
+            hullNext[e] = hullPrev[next] = i;
+            hullNext[i] = next;
+
+            hullHash[hashKey(x, y, hashSize)] = i;
+            hullHash[hashKey(coords[2 * e], coords[2 * e + 1], hashSize)] = e;
+        }
+
+        int count = 0;
+        for (int e = 0; e < trianglesLength; e++) {
+            if (halfedges[e] < e)
+                count++;
+        }
+        edges = Arrays.copyOf(duplicates, 2 * count + duplicateCount);
+        count = duplicateCount;
+        for (int e = 0; e < trianglesLength; e++) {
+            if (halfedges[e] < e) {
+                edges[count++] = triangles[e];
+                edges[count++] = triangles[e % 3 == 2 ? e - 2 : e + 1];
+            }
+        }
+
+        hullPrev = hullNext = hullTri = hullHash = null;
+    }
+
+    /**
+     * Dreht Kanten, bis alle Dreiecke um die gegebene Half-Edge die Delaunay-Bedingung erfüllen
+     * @param a die Half-Edge
+     * @return die Half-Edge, die nach dem Drehen auf den neuen Punkt zeigt
+     */
+    private int legalize(int a) {
+        int i = 0;
+        int ar;
+
+        while (true) {
+            int b = halfedges[a];
+            int a0 = a - a % 3;
+            ar = a0 + (a + 2) % 3;
+
+            if (b == -1) {
+                if (i == 0)
+                    break;
+                a = edgeStack[--i];
+                continue;
+            }
+
+            int b0 = b - b % 3;
+            int al = a0 + (a + 1) % 3;
+            int bl = b0 + (b + 2) % 3;
+
+            int p0 = triangles[ar];
+            int pr = triangles[a];
+            int pl = triangles[al];
+            int p1 = triangles[bl];
+
+            boolean illegal = inCircle(
+                coords[2 * p0], coords[2 * p0 + 1],
+                coords[2 * pr], coords[2 * pr + 1],
+                coords[2 * pl], coords[2 * pl + 1],
+                coords[2 * p1], coords[2 * p1 + 1]);
+
+            if (illegal) {
+                triangles[a] = p1;
+                triangles[b] = p0;
+
+                int hbl = halfedges[bl];
+
+                // Kante auf der anderen Seite der Hülle wurde gedreht, Referenz korrigieren
+                if (hbl == -1) {
+                    int e = hullStart;
+                    do {
+                        if (hullTri[e] == bl) {
+                            hullTri[e] = a;
+                            break;
+                        }
+                        e = hullPrev[e];
+                    } while (e != hullStart);
+                }
+                link(a, hbl);
+                link(b, halfedges[ar]);
+                link(ar, bl);
+
+                int br = b0 + (b + 1) % 3;
+                if (i < edgeStack.length)
+                    edgeStack[i++] = br;
+            } else {
+                if (i == 0)
+                    break;
+                a = edgeStack[--i];
+            }
+        }
+
+        return ar;
+    }
+
+    private void link(int a, int b) {
+        halfedges[a] = b;
+        if (b != -1)
+            halfedges[b] = a;
+    }
+
+    private int addTriangle(int i0, int i1, int i2, int a, int b, int c) {
+        int t = trianglesLength;
+        triangles[t] = i0;
+        triangles[t + 1] = i1;
+        triangles[t + 2] = i2;
+        link(t, a);
+        link(t + 1, b);
+        link(t + 2, c);
+        trianglesLength += 3;
+        return t;
+    }
+
+    private int hashKey(double x, double y, int hashSize) {
+        return (int) Math.floor(pseudoAngle(x - centerX, y - centerY) * hashSize) % hashSize;
+    }
+
+    private void circumcenter(double ax, double ay, double bx, double by, double cx, double cy) {
+        double dx = bx - ax, dy = by - ay;
+        double ex = cx - ax, ey = cy - ay;
+        double bl = dx * dx + dy * dy;
+        double cl = ex * ex + ey * ey;
+        double d = 0.5 / (dx * ey - dy * ex);
+        centerX = ax + (ey * bl - dy * cl) * d;
+        centerY = ay + (dx * cl - ex * bl) * d;
+    }
+
+    private static double pseudoAngle(double dx, double dy) {
+        double p = dx / (Math.abs(dx) + Math.abs(dy));
+        return (dy > 0 ? 3 - p : 1 + p) / 4;
+    }
+
+    private static double dist(double ax, double ay, double bx, double by) {
+        double dx = ax - bx, dy = ay - by;
+        return dx * dx + dy * dy;
+    }
+
+    private static boolean orient(double px, double py, double qx, double qy, double rx, double ry) {
+        return (qy - py) * (rx - qx) - (qx - px) * (ry - qy) < 0;
+    }
+
+    private static boolean inCircle(double ax, double ay, double bx, double by, double cx, double cy, double px, double py) {
+        double dx = ax - px, dy = ay - py;
+        double ex = bx - px, ey = by - py;
+        double fx = cx - px, fy = cy - py;
+        double ap = dx * dx + dy * dy;
+        double bp = ex * ex + ey * ey;
+        double cp = fx * fx + fy * fy;
+        return dx * (ey * cp - bp * fy) - dy * (ex * cp - bp * fx) + ap * (ex * fy - ey * fx) < 0;
+    }
+
+    private static double circumradius(double ax, double ay, double bx, double by, double cx, double cy) {
+        double dx = bx - ax, dy = by - ay;
+        double ex = cx - ax, ey = cy - ay;
+        double bl = dx * dx + dy * dy;
+        double cl = ex * ex + ey * ey;
+        double d = 0.5 / (dx * ey - dy * ex);
+        double x = (ey * bl - dy * cl) * d;
+        double y = (dx * cl - ex * bl) * d;
+        return x * x + y * y;
+    }
+
+    /**
+     * Sortiert die Indizes aufsteigend nach den zugehörigen Werten
+     */
+    private static void quicksort(int[] ids, double[] values, int left, int right) {
+        if (right - left <= 20) {
+            for (int i = left + 1; i <= right; i++) {
+                int temp = ids[i];
+                double tempValue = values[temp];
+                int j = i - 1;
+                while (j >= left && values[ids[j]] > tempValue)
+                    ids[j + 1] = ids[j--];
+                ids[j + 1] = temp;
+            }
+        } else {
+            int median = (left + right) >> 1;
+            int i = left + 1;
+            int j = right;
+            swap(ids, median, i);
+            if (values[ids[left]] > values[ids[right]]) swap(ids, left, right);
+            if (values[ids[i]] > values[ids[right]]) swap(ids, i, right);
+            if (values[ids[left]] > values[ids[i]]) swap(ids, left, i);
+
+            int temp = ids[i];
+            double tempValue = values[temp];
+            while (true) {
+                do i++; while (values[ids[i]] < tempValue);
+                do j--; while (values[ids[j]] > tempValue);
+                if (j < i)
+                    break;
+                swap(ids, i, j);
+            }
+            ids[left + 1] = ids[j];
+            ids[j] = temp;
+
+            if (right - i + 1 >= j - left) {
+                quicksort(ids, values, i, right);
+                quicksort(ids, values, left, j - 1);
+            } else {
+                quicksort(ids, values, left, j - 1);
+                quicksort(ids, values, i, right);
+            }
+        }
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    /**
+     * Schlüssel für die exakten Koordinaten eines Punktes, um doppelte Punkte zu finden
+     */
+    private static final class PointKey {
+
+        private final double x;
+        private final double y;
+
+        private PointKey(double x, double y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof PointKey))
+                return false;
+
+            PointKey key = (PointKey) other;
+            return Double.compare(x, key.x) == 0 && Double.compare(y, key.y) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Double.hashCode(x) + Double.hashCode(y);
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package base;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
@@ -19,12 +25,19 @@ public class Graph<T> {
   private List<Edge<T>> edges;
   private List<Node<T>> nodes;
 
+  // Index der Kanten pro Knoten und der Knoten pro Wert, damit Nachbarschaftsanfragen nicht alle
+  // Kanten durchsuchen müssen
+  private Map<Node<T>, List<Edge<T>>> adjacency;
+  private Map<T, Node<T>> nodesByValue;
+
   /**
    * Konstruktor für einen neuen, leeren Graphen
    */
   public Graph() {
     this.nodes = new ArrayList<>();
     this.edges = new LinkedList<>();
+    this.adjacency = new HashMap<>();
+    this.nodesByValue = new HashMap<>();
   }
 
   /**
@@ -36,6 +49,8 @@ public class Graph<T> {
   public Node<T> addNode(T value) {
     Node<T> node = new Node<>(value);
     this.nodes.add(node);
+    this.adjacency.put(node, new ArrayList<>());
+    this.nodesByValue.putIfAbsent(value, node);
     return node;
   }
 
@@ -55,6 +70,10 @@ public class Graph<T> {
 
     edge = new Edge<>(nodeA, nodeB);
     this.edges.add(edge);
+    this.adjacency.computeIfAbsent(nodeA, n -> new ArrayList<>()).add(edge);
+    if (nodeB != nodeA) {
+      this.adjacency.computeIfAbsent(nodeB, n -> new ArrayList<>()).add(edge);
+    }
     return edge;
   }
 
@@ -88,15 +107,14 @@ public class Graph<T> {
   }
 
   /**
-   * Diese Methode gibt alle Kanten eines Knotens als Liste mittels Streams zurück.
+   * Diese Methode gibt alle Kanten eines Knotens als Liste zurück. Die Kanten werden aus dem
+   * Nachbarschaftsindex gelesen und stehen in der Reihenfolge, in der sie hinzugefügt wurden.
    * 
    * @param node Der Knoten für die dazugehörigen Kanten
-   * @see java.util.stream.Stream#filter(Predicate)
-   * @see java.util.stream.Stream#collect(Collector)
    * @return Die Liste aller zum Knoten zugehörigen Kanten
    */
   public List<Edge<T>> getEdges(Node<T> node) {
-    return this.edges.stream().filter(s -> s.contains(node)).collect(Collectors.toList());
+    return new ArrayList<>(this.adjacency.getOrDefault(node, Collections.emptyList()));
   }
 
   /**
@@ -108,8 +126,12 @@ public class Graph<T> {
    * @return Die Kante zwischen beiden Knoten oder null
    */
   public Edge<T> getEdge(Node<T> nodeA, Node<T> nodeB) {
-    return edges.stream().filter(s -> s.contains(nodeA) && s.contains(nodeB)).findFirst()
-        .orElse(null);
+    for (Edge<T> edge : this.adjacency.getOrDefault(nodeA, Collections.emptyList())) {
+      if (edge.contains(nodeB)) {
+        return edge;
+      }
+    }
+    return null;
   }
 
   /**
@@ -120,33 +142,34 @@ public class Graph<T> {
    * @return Ein Knoten mit dem angegebenen Wert oder null
    */
   public Node<T> getNode(T value) {
-    return this.nodes.stream().filter(s -> s.getValue().equals(value)).findFirst().orElse(null);
+    return this.nodesByValue.get(value);
   }
 
   /**
    * Überprüft, ob alle Knoten in dem Graphen erreichbar sind.
+   * Die Suche ist iterativ, damit auch Graphen mit vielen tausend Knoten den Stack nicht
+   * überlaufen lassen. Ein leerer Graph gilt als verbunden.
    * @return true, wenn alle Knoten erreichbar sind
    */
   public boolean allNodesConnected() {
-    return connectedNodes(this.nodes.get(0), new ArrayList<>()).size() == this.nodes.size();
-  }
+    if (this.nodes.isEmpty()) {
+      return true;
+    }
 
-  /**
-   * Wenn der aktuelle Knoten noch nicht in der Liste der erreichbaren Knoten ist, wird dieser
-   * hinzugefügt und die Methode für all seine Nachbarn erneut aufgerufen.
-   * 
-   * @param currentNode
-   * @param reachableNodes
-   * @return Liste aller verbundenen Knoten
-   */
-  private List<Node<T>> connectedNodes(Node<T> currentNode, List<Node<T>> reachableNodes) {
-    if (!reachableNodes.contains(currentNode)) {
-      reachableNodes.add(currentNode);
-      for (Node<T> n : getNeighbors(currentNode)) {
-        connectedNodes(n, reachableNodes);
+    Set<Node<T>> reachableNodes = new HashSet<>();
+    Deque<Node<T>> queue = new ArrayDeque<>();
+    reachableNodes.add(this.nodes.get(0));
+    queue.add(this.nodes.get(0));
+    while (!queue.isEmpty()) {
+      Node<T> currentNode = queue.poll();
+      for (Edge<T> edge : this.adjacency.getOrDefault(currentNode, Collections.<Edge<T>>emptyList())) {
+        Node<T> n = edge.getOtherNode(currentNode);
+        if (reachableNodes.add(n)) {
+          queue.add(n);
+        }
       }
     }
-    return reachableNodes;
+    return reachableNodes.size() == this.nodes.size();
   }
 
   /**
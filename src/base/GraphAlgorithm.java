@@ -20,6 +20,10 @@ public abstract class GraphAlgorithm<T> {
         private double value;
         private AlgorithmNode<T> previous;
 
+        // Position des Knotens im Graphen, entscheidet bei gleichem Wert über die Reihenfolge
+        private int index;
+        private boolean done;
+
         AlgorithmNode(Node<T> parentNode, AlgorithmNode<T> previousNode, double value) {
             this.node = parentNode;
             this.previous = previousNode;
@@ -27,10 +31,25 @@ public abstract class GraphAlgorithm<T> {
         }
     }
 
+    /**
+     * Eintrag in der Warteschlange {@link #availableNodes}. Der Wert wird beim Einfügen festgehalten, da sich der Wert
+     * des Knotens danach noch verringern kann. Veraltete Einträge werden beim Entnehmen übersprungen.
+     */
+    private static class QueueEntry<T> {
+
+        private AlgorithmNode<T> node;
+        private double value;
+
+        QueueEntry(AlgorithmNode<T> node) {
+            this.node = node;
+            this.value = node.value;
+        }
+    }
+
     private Graph<T> graph;
 
-    // Diese Liste enthält alle Knoten, die noch nicht abgearbeitet wurden
-    private List<Node<T>> availableNodes;
+    // Diese Warteschlange enthält alle erreichten Knoten, die noch nicht abgearbeitet wurden, sortiert nach ihrem Wert
+    private PriorityQueue<QueueEntry<T>> availableNodes;
 
     // Diese Map enthält alle Zuordnungen
     private Map<Node<T>, AlgorithmNode<T>> algorithmNodes;
@@ -42,46 +61,40 @@ public abstract class GraphAlgorithm<T> {
      */
     public GraphAlgorithm(Graph<T> graph, Node<T> sourceNode) {
         this.graph = graph;
-        this.availableNodes = new LinkedList<>(graph.getNodes());
+        this.availableNodes = new PriorityQueue<>((a, b) -> a.value != b.value ?
+            Double.compare(a.value, b.value) : Integer.compare(a.node.index, b.node.index));
         this.algorithmNodes = new HashMap<>();
 
-        for(Node<T> node : graph.getNodes())
-            this.algorithmNodes.put(node, new AlgorithmNode<>(node, null, -1));
+        int index = 0;
+        for(Node<T> node : graph.getNodes()) {
+            AlgorithmNode<T> algorithmNode = new AlgorithmNode<>(node, null, -1);
+            algorithmNode.index = index++;
+            this.algorithmNodes.put(node, algorithmNode);
+        }
 
-        this.algorithmNodes.get(sourceNode).value = 0;
+        AlgorithmNode<T> source = this.algorithmNodes.get(sourceNode);
+        source.value = 0;
+        this.availableNodes.add(new QueueEntry<>(source));
     }
 
     /**
-     * Diese Methode gibt einen Knoten mit dem kleinsten Wert, der noch nicht abgearbeitet wurde, zurück und entfernt ihn aus der Liste {@link #availableNodes}.
+     * Diese Methode gibt einen Knoten mit dem kleinsten Wert, der noch nicht abgearbeitet wurde, zurück und entfernt ihn aus der Warteschlange {@link #availableNodes}.
+     * Bei gleichem Wert wird der Knoten zurückgegeben, der im Graphen zuerst kommt.
      * Sollte kein Knoten gefunden werden, wird null zurückgegeben.
-     * Verbindliche Anforderung: Verwenden Sie beim Durchlaufen der Liste Iteratoren
+     * Verbindliche Anforderung: Verwenden Sie beim Durchlaufen der Liste Iteratoren. Seit {@link #availableNodes} eine
+     * Prioritätswarteschlange ist, wird hier nichts mehr durchlaufen, entnommen wird nur mit {@link PriorityQueue#poll()}.
      * @return Der nächste abzuarbeitende Knoten oder null
      */
     private AlgorithmNode<T> getSmallestNode() {
-    	if(availableNodes.isEmpty()) {
-    		return null;
-    	}else {
-    		Iterator<Node<T>> it = availableNodes.iterator();
-    		Node<T> smallestValNode = null;
-    		while(it.hasNext()) {
-    			Node<T> toBeCompared = it.next();
-    			if(smallestValNode == null && algorithmNodes.get(toBeCompared).value > -1) {
-    				smallestValNode = toBeCompared;
-    				continue;
-    			}
-                if(algorithmNodes.get(toBeCompared).value < 0){
-                    continue;
-                }
-    			if(algorithmNodes.get(toBeCompared).value < algorithmNodes.get(smallestValNode).value) {
-    				smallestValNode = toBeCompared;
-    			}
-    		}
-    		if(smallestValNode == null) {
-    			return null;
-    		}
-    		availableNodes.remove(smallestValNode);
-            return algorithmNodes.get(smallestValNode);
-    	}
+        QueueEntry<T> entry;
+        while((entry = availableNodes.poll()) != null) {
+            AlgorithmNode<T> node = entry.node;
+            if(!node.done && entry.value == node.value) {
+                node.done = true;
+                return node;
+            }
+        }
+        return null;
     }
 
     /**
@@ -103,13 +116,14 @@ public abstract class GraphAlgorithm<T> {
     	AlgorithmNode<T> v;
     	while((v = getSmallestNode()) != null){
     		Node<T> vnode = getKey(v);
-    		for(Edge<T> edge : graph.getEdges()) {
-    			if(edge.contains(vnode) && isPassable(edge)) {
+    		for(Edge<T> edge : graph.getEdges(vnode)) {
+    			if(isPassable(edge)) {
     				AlgorithmNode<T> nnode = algorithmNodes.get(edge.getOtherNode(vnode));
     				double a = v.value + getValue(edge);
     				if(nnode.value < 0 || a < nnode.value) {
     					nnode.value = a;
     					nnode.previous = v;
+    					availableNodes.add(new QueueEntry<>(nnode));
     				}
     			}
     		}
@@ -148,12 +162,7 @@ public abstract class GraphAlgorithm<T> {
      * @return Node key zu der AlgorithmNode
      */
     public Node<T> getKey(AlgorithmNode<T> value){
-    	for(Node<T> node : algorithmNodes.keySet()) {
-    		if(algorithmNodes.get(node).equals(value)) {
-    			return node;
-    		}
-    	}
-    	return null;
+    	return value != null ? value.node : null;
     }
 
     /**
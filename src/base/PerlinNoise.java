@@ -23,6 +23,15 @@ public class PerlinNoise {
     private ArrayList<Vector<Double>> Vectors; //gradients
 
     public PerlinNoise(int width, int height, int scale) {
+        this(width, height, scale, new Random());
+    }
+
+    /**
+     * Creates the noise with gradients drawn from the given random number generator,
+     * so the same seed always results in the same noise
+     * @param random: random number generator for the gradients
+     */
+    public PerlinNoise(int width, int height, int scale, Random random) {
 
         this.width = width * scale;
         this.height = height * scale;
@@ -30,7 +39,7 @@ public class PerlinNoise {
         this.gwidth = width;
         this.gheight = height;
 
-        this.random = new Random();
+        this.random = random;
         this.Vectors = new ArrayList<>();
         createVectors((1 + gwidth) * (1 + gheight));
     }
@@ -150,4 +159,24 @@ public class PerlinNoise {
         //final interpolation
         return this.mapToInterval(this.linearInterpolation(linIntOben,linIntUnten,this.fade(rvLO.getY())));
     }
+
+    /**
+     * Computes the noise values on a lattice with the given step size. The lattice covers the whole picture,
+     * the last row and column are clamped to the picture border.
+     * With a step size of 1, the result contains the noise value of every pixel.
+     * @param step: distance between two lattice points in pixels
+     * @return noise values indexed by [x][y] lattice position
+     */
+    public double[][] getNoiseLattice(int step) {
+        int latticeWidth = (this.width - 1 + step - 1) / step + 1;
+        int latticeHeight = (this.height - 1 + step - 1) / step + 1;
+        double[][] lattice = new double[latticeWidth][latticeHeight];
+        for (int i = 0; i < latticeWidth; i++) {
+            int x = Math.min(i * step, this.width - 1);
+            for (int j = 0; j < latticeHeight; j++) {
+                lattice[i][j] = getNoise(x, Math.min(j * step, this.height - 1));
+            }
+        }
+        return lattice;
+    }
 }
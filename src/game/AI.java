@@ -1,24 +1,45 @@
 package game;
 
+import game.map.Castle;
+
 import java.awt.Color;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public abstract class AI extends Player {
 
     private AIThread aiThread;
-    private Random random;
+    private SplittableRandom random;
     protected boolean fastForward;
 
     public AI(String name, Color color) {
         super(name, color);
         this.setJokerAvailable(false);
-        this.random = new Random();
+        this.random = new SplittableRandom();
     }
 
-    protected Random getRandom() {
+    protected SplittableRandom getRandom() {
         return this.random;
     }
 
+    /**
+     * Setzt den Zufallsgenerator für die Entscheidungen dieser KI, siehe {@link RandomSource#playerStream(int)}
+     * @param random der Zufallsgenerator
+     */
+    void setRandom(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Gibt die Wahrscheinlichkeit zurück, dass ein Angriff mit allen Truppen einer Burg die andere Burg erobert,
+     * siehe {@link AttackOdds#getWinProbability(int, int)}
+     * @param attacker die angreifende Burg
+     * @param defender die angegriffene Burg
+     * @return die Wahrscheinlichkeit zwischen 0 und 1
+     */
+    protected double getWinProbability(Castle attacker, Castle defender) {
+        return AttackOdds.getWinProbability(attacker.getTroopCount(), defender.getTroopCount());
+    }
+
     protected abstract void actions(Game game) throws InterruptedException;
 
     public void doNextTurn(Game game) {
@@ -30,6 +51,21 @@ public abstract class AI extends Player {
         aiThread.start();
     }
 
+    /**
+     * Führt einen Zug sofort und ohne Pausen auf dem aufrufenden Thread aus, etwa für Tests oder Simulationen.
+     * Anders als bei {@link #doNextTurn(Game)} wird der Zug danach nicht beendet.
+     * @param game das Spiel
+     * @throws InterruptedException falls der Thread beim Warten auf einen Angriff unterbrochen wird
+     */
+    public void playTurn(Game game) throws InterruptedException {
+        fastForward = true;
+        try {
+            actions(game);
+        } finally {
+            fastForward = false;
+        }
+    }
+
     public void fastForward() {
         if(aiThread != null)
             fastForward = true;
@@ -0,0 +1,147 @@
+package game;
+
+import game.combat.CombatModel;
+
+/**
+ * Die Siegchancen eines Angriffs mit allen Truppen einer Burg, wie ihn die KI-Spieler ausführen, siehe
+ * {@link Game#startAttack(game.map.Castle, game.map.Castle, int)} mit allen Truppen der angreifenden Burg.
+ *
+ * Die Werte werden mit dynamischer Programmierung über die Regeln von {@link Game#doAttack} berechnet und in einer
+ * Tabelle abgelegt, die bei Bedarf wächst. Eine Abfrage kostet danach nur einen Zugriff auf ein Array. Die Tabelle
+ * wird von allen Spielen und Threads gemeinsam verwendet: Gelesen wird ohne Sperre aus einer unveränderlichen Tabelle,
+ * nur das Vergrößern ist synchronisiert.
+ *
+ * Die Tabelle umfasst höchstens {@link #MAX_TROOPS} Truppen je Seite. Für größere Heere werden beide Seiten im gleichen
+ * Verhältnis verkleinert, die Werte sind dann eine Näherung.
+ */
+public class AttackOdds {
+
+    public static final int MAX_TROOPS = 1000;
+
+    private static final int INITIAL_TROOPS = 32;
+
+    /**
+     * Eine vollständig berechnete Tabelle für alle Angreifer bis maxAttackers und Verteidiger bis maxDefenders
+     */
+    private static class Table {
+
+        private final int maxAttackers;
+        private final int maxDefenders;
+        private final double[][] win;
+        private final double[][] survivors;
+
+        private Table(int maxAttackers, int maxDefenders, Table previous) {
+            this.maxAttackers = maxAttackers;
+            this.maxDefenders = maxDefenders;
+            this.win = new double[maxAttackers + 1][maxDefenders + 1];
+            this.survivors = new double[maxAttackers + 1][maxDefenders + 1];
+
+            for (int a = 1; a <= maxAttackers; a++) {
+                int first = 0;
+                if (previous != null && a <= previous.maxAttackers) {
+                    System.arraycopy(previous.win[a], 0, win[a], 0, previous.maxDefenders + 1);
+                    System.arraycopy(previous.survivors[a], 0, survivors[a], 0, previous.maxDefenders + 1);
+                    first = previous.maxDefenders + 1;
+                }
+                for (int d = first; d <= maxDefenders; d++) {
+                    compute(a, d);
+                }
+            }
+        }
+
+        // Alle Zustände mit weniger Truppen sind bereits berechnet, da jede Runde mindestens eine Seite verringert
+        private void compute(int a, int d) {
+            if (d == 0) {
+                win[a][d] = 1;
+                survivors[a][d] = a;
+                return;
+            }
+            if (a == 1) {
+                win[a][d] = 0;
+                survivors[a][d] = 1;
+                return;
+            }
+
+            int k = Math.min(CombatModel.MAX_ATTACKER_DICE, a - 1);
+            int m = Math.min(CombatModel.MAX_DEFENDER_DICE, d);
+            int comparisons = Math.min(k, m);
+            double w = 0;
+            double s = 0;
+            for (int j = 0; j <= comparisons; j++) {
+                double p = CombatModel.getRoundProbability(k, m, j);
+                int na = a - (comparisons - j);
+                int nd = d - j;
+                w += p * win[na][nd];
+                s += p * survivors[na][nd];
+            }
+            win[a][d] = w;
+            survivors[a][d] = s;
+        }
+    }
+
+    private static volatile Table table = new Table(INITIAL_TROOPS, INITIAL_TROOPS, null);
+
+    private AttackOdds() {
+    }
+
+    private static Table getTable(int attackers, int defenders) {
+        Table current = table;
+        if (attackers <= current.maxAttackers && defenders <= current.maxDefenders)
+            return current;
+
+        synchronized (AttackOdds.class) {
+            current = table;
+            if (attackers > current.maxAttackers || defenders > current.maxDefenders) {
+                int maxAttackers = Math.min(MAX_TROOPS, Math.max(attackers, 2 * current.maxAttackers));
+                int maxDefenders = Math.min(MAX_TROOPS, Math.max(defenders, 2 * current.maxDefenders));
+                current = new Table(Math.max(maxAttackers, current.maxAttackers),
+                    Math.max(maxDefenders, current.maxDefenders), current);
+                table = current;
+            }
+            return current;
+        }
+    }
+
+    // Faktor, mit dem beide Seiten verkleinert werden, damit sie in die Tabelle passen
+    private static double getScale(int attackerTroops, int defenderTroops) {
+        int max = Math.max(attackerTroops, defenderTroops);
+        return max > MAX_TROOPS ? MAX_TROOPS / (double) max : 1;
+    }
+
+    private static int scale(int troops, double scale) {
+        return Math.max(1, (int) Math.round(troops * scale));
+    }
+
+    /**
+     * Gibt die Wahrscheinlichkeit zurück, dass ein Angriff mit allen Truppen einer Burg die andere Burg erobert
+     * @param attackerTroops die Truppen in der angreifenden Burg, eine davon bleibt immer zurück
+     * @param defenderTroops die Truppen in der angegriffenen Burg
+     * @return die Wahrscheinlichkeit zwischen 0 und 1
+     */
+    public static double getWinProbability(int attackerTroops, int defenderTroops) {
+        if (attackerTroops < 1 || defenderTroops < 0)
+            throw new IllegalArgumentException("Ungültige Anzahl an Truppen");
+
+        double scale = getScale(attackerTroops, defenderTroops);
+        int a = scale(attackerTroops, scale);
+        int d = defenderTroops == 0 ? 0 : scale(defenderTroops, scale);
+        return getTable(a, d).win[a][d];
+    }
+
+    /**
+     * Gibt zurück, wie viele Truppen des Angreifers einen Angriff mit allen Truppen einer Burg im Mittel überleben,
+     * einschließlich der Truppe, die in eine eroberte Burg einzieht
+     * @param attackerTroops die Truppen in der angreifenden Burg
+     * @param defenderTroops die Truppen in der angegriffenen Burg
+     * @return die erwartete Anzahl an Truppen, mindestens 1
+     */
+    public static double getExpectedSurvivors(int attackerTroops, int defenderTroops) {
+        if (attackerTroops < 1 || defenderTroops < 0)
+            throw new IllegalArgumentException("Ungültige Anzahl an Truppen");
+
+        double scale = getScale(attackerTroops, defenderTroops);
+        int a = scale(attackerTroops, scale);
+        int d = defenderTroops == 0 ? 0 : scale(defenderTroops, scale);
+        return getTable(a, d).survivors[a][d] / scale;
+    }
+}
@@ -1,18 +1,23 @@
-package gui;
+package game;
 
-import game.Game;
-import game.Player;
+import game.combat.CombatModel;
+import game.combat.CombatOutcome;
 import game.map.Castle;
 
+import java.util.SplittableRandom;
+
 public class AttackThread extends Thread {
 
     private Castle attackerCastle, defenderCastle;
     private Player attacker, defender;
     private int troopAttackCount;
     private Game game;
-    private boolean fastForward;
+    private volatile boolean fastForward;
     private Player winner;
 
+    // Weckt eine laufende Pause auf, sobald der Angriff vorgespult wird
+    private final Object sleepLock = new Object();
+
     public AttackThread(Game game, Castle attackerCastle, Castle defenderCastle, int troopAttackCount) {
         this.attackerCastle = attackerCastle;
         this.defenderCastle = defenderCastle;
@@ -25,13 +30,19 @@ public class AttackThread extends Thread {
     }
 
     public void fastForward() {
-        fastForward = true;
+        synchronized (sleepLock) {
+            fastForward = true;
+            sleepLock.notifyAll();
+        }
     }
 
     private void sleep(int ms) throws InterruptedException {
         long end = System.currentTimeMillis() + ms;
-        while(System.currentTimeMillis() < end && !fastForward) {
-            Thread.sleep(10);
+        synchronized (sleepLock) {
+            long remaining;
+            while(!fastForward && (remaining = end - System.currentTimeMillis()) > 0) {
+                sleepLock.wait(remaining);
+            }
         }
     }
 
@@ -70,6 +81,25 @@ public class AttackThread extends Thread {
         game.stopAttack();
     }
 
+    /**
+     * Führt den Angriff ohne Würfel in einem Schritt auf dem aufrufenden Thread aus. Der Ausgang wird aus der exakten
+     * Verteilung gezogen, siehe {@link CombatModel}, und ist daher genauso verteilt wie bei einem Angriff Würfel für
+     * Würfel.
+     * @param random der Zufallsgenerator
+     */
+    void resolveInstantly(SplittableRandom random) {
+        int attackerTroops = attackerCastle.getTroopCount();
+        if(attackerTroops > 1) {
+            CombatOutcome outcome = CombatModel.getDistribution(attackerTroops, troopAttackCount,
+                defenderCastle.getTroopCount()).sample(random);
+            game.applyCombatOutcome(attackerCastle, defenderCastle, outcome);
+            if(outcome.isConquered())
+                winner = attacker;
+        }
+
+        game.stopAttack();
+    }
+
     public Player getWinner() {
         return winner;
     }
@@ -1,5 +1,6 @@
 package game;
 
+import java.awt.Dimension;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -12,16 +13,30 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import base.Graph;
 import base.Node;
+import game.combat.CombatModel;
+import game.combat.CombatOutcome;
 import game.map.Castle;
 import game.map.Kingdom;
 import game.map.GameMap;
+import game.map.GenerationSettings;
+import game.map.MapCache;
+import game.map.MapGenerationListener;
 import game.map.MapSize;
 import game.players.EmperorAI;
-import gui.AttackThread;
-import gui.Resources;
 
 public class Game {
 
+  /**
+   * Ab dieser Anzahl an Burgen werden die schnellen Generierungsverfahren verwendet
+   */
+  public static final int LARGE_MAP_CASTLES = 250;
+
+  // Mindestabstand zwischen zwei Burgen auf großen Karten in Pixeln, etwas mehr als eine Burg breit ist
+  private static final int LARGE_MAP_CASTLE_DISTANCE = 60;
+
+  // Anzahl der Burgen je Königreich auf großen Karten
+  private static final int CASTLES_PER_KINGDOM = 150;
+
   private Goal goal;
   private List<Player> players;
   private boolean isOver;
@@ -35,6 +50,10 @@ public class Game {
   private GameInterface gameInterface;
   private AttackThread attackThread;
   private List<Castle> capitals;
+  private boolean headless;
+  private boolean instantCombat;
+  private RandomSource randomSource;
+  private boolean fixedRandomSource;
 
   BufferedWriter printWriter;
 
@@ -44,6 +63,55 @@ public class Game {
     this.mapSize = MapSize.MEDIUM;
     this.players = new LinkedList<>();
     this.capitals = new ArrayList<>();
+    this.randomSource = new RandomSource();
+  }
+
+  /**
+   * Im Headless-Modus laufen Angriffe ohne Pausen auf dem aufrufenden Thread ab und KI-Spieler ziehen nicht mehr
+   * selbstständig in eigenen Threads. Die Züge werden stattdessen mit {@link #play(int)} ausgeführt.
+   * @param headless true für ein Spiel ohne Oberfläche
+   */
+  public void setHeadless(boolean headless) {
+    if(hasStarted)
+      throw new IllegalArgumentException("Spiel wurde bereits gestartet");
+
+    this.headless = headless;
+  }
+
+  public boolean isHeadless() {
+    return this.headless;
+  }
+
+  /**
+   * Im Headless-Modus kann ein Angriff statt Würfel für Würfel auch in einem Schritt ausgeführt werden. Der Ausgang
+   * wird dann aus der exakten Verteilung aller Ausgänge gezogen, siehe {@link CombatModel}, und die Punkte werden
+   * so vergeben, als wäre gewürfelt worden.
+   * @param instantCombat true, um Angriffe in einem Schritt auszuführen
+   */
+  public void setInstantCombat(boolean instantCombat) {
+    this.instantCombat = instantCombat;
+  }
+
+  public boolean isInstantCombat() {
+    return this.instantCombat;
+  }
+
+  /**
+   * Setzt die Quelle aller Zufallszahlen des Spiels, aus der Reihenfolge der Spieler, Würfel, Entscheidungen der KI
+   * und gegebenenfalls die Karte abgeleitet werden. Mit gleichem Startwert lässt sich ein Spiel so wiederholen.
+   * Eine Karte, die das Spiel selbst generiert, wird dann im {@link MapCache#getDefault() Standard-Cache} abgelegt.
+   * @param randomSource die Quelle
+   */
+  public void setRandomSource(RandomSource randomSource) {
+    if(hasStarted)
+      throw new IllegalArgumentException("Spiel wurde bereits gestartet");
+
+    this.randomSource = randomSource;
+    this.fixedRandomSource = true;
+  }
+
+  public RandomSource getRandomSource() {
+    return this.randomSource;
   }
 
   public void addPlayer(Player p) {
@@ -70,23 +138,90 @@ public class Game {
     this.mapSize = mapSize;
   }
 
-  private void generateMap() {
+  /**
+   * Generiert eine Karte passend zur Spieleranzahl und Kartengröße mit der Standardanzahl an Burgen,
+   * siehe {@link #generateMap(int, MapSize, int, MapGenerationListener)}
+   *
+   * @param playerCount die Anzahl der Spieler
+   * @param mapSize die Kartengröße
+   * @param listener wird über den Fortschritt der Generierung informiert
+   * @return die generierte Karte
+   */
+  public static GameMap generateMap(int playerCount, MapSize mapSize, MapGenerationListener listener) {
+    return generateMap(playerCount, mapSize, 0, listener);
+  }
 
-    int mapSizeMultiplier = this.mapSize.ordinal() + 1;
-    int playerCount = players.size();
-    int numRegions = playerCount * GameConstants.CASTLES_NUMBER_MULTIPLIER * mapSizeMultiplier;
-    double tileMultiplier = 1.0 + (mapSizeMultiplier * 0.3);
+  /**
+   * Generiert eine Karte passend zur Spieleranzahl und Kartengröße. Die Methode hängt nicht vom
+   * Zustand eines Spiels ab und kann daher auch im Hintergrund aufgerufen werden, bevor das Spiel
+   * erstellt wird, siehe {@link #setMap(GameMap)}.
+   *
+   * Ab {@link #LARGE_MAP_CASTLES} Burgen werden die schnellen Verfahren für Hintergrund, Platzierung
+   * und Kanten verwendet, siehe {@link GenerationSettings}.
+   *
+   * @param playerCount die Anzahl der Spieler
+   * @param mapSize die Kartengröße
+   * @param castleCount die Anzahl der Burgen oder 0 für die Standardanzahl der Kartengröße
+   * @param listener wird über den Fortschritt der Generierung informiert
+   * @return die generierte Karte
+   */
+  public static GameMap generateMap(int playerCount, MapSize mapSize, int castleCount, MapGenerationListener listener) {
+    GenerationSettings settings = new GenerationSettings();
+    settings.setListener(listener);
+    return generateMap(playerCount, mapSize, castleCount, settings);
+  }
 
-    // We set up space for 2 times the region count
-    int numTiles = (int) Math.ceil(numRegions * tileMultiplier);
+  /**
+   * Generiert eine Karte wie {@link #generateMap(int, MapSize, int, MapGenerationListener)} mit eigenen Einstellungen,
+   * etwa mit Startwert oder ohne Hintergrundbild. Ab {@link #LARGE_MAP_CASTLES} Burgen werden die Verfahren in den
+   * Einstellungen überschrieben.
+   *
+   * @param playerCount die Anzahl der Spieler
+   * @param mapSize die Kartengröße
+   * @param castleCount die Anzahl der Burgen oder 0 für die Standardanzahl der Kartengröße
+   * @param settings die Einstellungen für die Generierung
+   * @return die generierte Karte
+   */
+  public static GameMap generateMap(int playerCount, MapSize mapSize, int castleCount, GenerationSettings settings) {
 
-    // Our map should be 3:2
-    int width = (int) Math.ceil(0.6 * numTiles);
-    int height = (int) Math.ceil(0.4 * numTiles);
+    int numRegions = castleCount > 0 ? castleCount : mapSize.getCastleCount(playerCount);
+    Dimension size = mapSize.getMapDimension(playerCount, numRegions);
 
-    int continents = Math.min(3, playerCount + this.mapSize.ordinal());
+    // Ein Königreich je CASTLES_PER_KINGDOM Burgen, damit Königreiche auch auf großen Karten erobert werden können
+    int continents = Math.max(Math.min(3, playerCount + mapSize.ordinal()), numRegions / CASTLES_PER_KINGDOM);
+    continents = Math.max(2, Math.min(continents, numRegions - 1));
 
-    this.gameMap = GameMap.generateRandomMap(width, height, 40, numRegions, continents);
+    if(numRegions >= LARGE_MAP_CASTLES) {
+      settings.setBackgroundMode(GenerationSettings.BackgroundMode.INTERPOLATED);
+      settings.setPlacementMode(GenerationSettings.PlacementMode.POISSON_DISK);
+      settings.setMinCastleDistance(LARGE_MAP_CASTLE_DISTANCE);
+      settings.setEdgeMode(GenerationSettings.EdgeMode.DELAUNAY);
+    }
+
+    return GameMap.generateRandomMap(size.width, size.height, 40, numRegions, continents, settings);
+  }
+
+  private void generateMap() {
+    GenerationSettings settings = new GenerationSettings();
+    settings.setSeed(randomSource.stream(RandomSource.STREAM_MAP).nextLong());
+    // Nur eine vorgegebene Quelle wird wiederholt, Karten mit zufälligem Startwert würden den Cache nur füllen
+    if(fixedRandomSource)
+      settings.setCache(MapCache.getDefault());
+    this.gameMap = generateMap(players.size(), this.mapSize, 0, settings);
+  }
+
+  /**
+   * Setzt eine bereits generierte Karte, die beim Start des Spiels verwendet wird. Ohne gesetzte
+   * Karte wird beim Start eine neue generiert.
+   *
+   * @param gameMap die Karte, sie sollte mit {@link #generateMap(int, MapSize, MapGenerationListener)}
+   *        für die Spieler und Kartengröße dieses Spiels erzeugt worden sein
+   */
+  public void setMap(GameMap gameMap) {
+    if(hasStarted)
+      throw new IllegalArgumentException("Spiel wurde bereits gestartet");
+
+    this.gameMap = gameMap;
   }
 
   public void start(GameInterface gameInterface) {
@@ -100,7 +235,8 @@ public class Game {
     if(goal == null)
       throw new IllegalArgumentException("Kein Spielziel gesetzt");
 
-    this.generateMap();
+    if(this.gameMap == null)
+      this.generateMap();
 
     // Create player order
     this.gameInterface = gameInterface;
@@ -118,12 +254,18 @@ public class Game {
     	playerQueue.add(tempList.get(0));
     }else {
 	    while(!tempList.isEmpty()) {
-	      Player player = tempList.remove((int) (Math.random() * tempList.size()));
+	      Player player = tempList.remove(randomSource.stream(RandomSource.STREAM_ORDER).nextInt(tempList.size()));
 	      player.reset();
 	      playerQueue.add(player);
 	    }
     }
 
+    // Jede KI erhält einen eigenen Strom, unabhängig von der Reihenfolge der Züge
+    for(int i = 0; i < players.size(); i++) {
+      if(players.get(i) instanceof AI)
+        ((AI) players.get(i)).setRandom(randomSource.playerStream(i));
+    }
+
     startingPlayer = playerQueue.peek();
     hasStarted = true;
     isOver = false;
@@ -133,29 +275,57 @@ public class Game {
     nextTurn();
   }
 
+  /**
+   * Startet einen Angriff. Im Headless-Modus ist der Angriff bei der Rückkehr bereits beendet.
+   * @param source die angreifende Burg
+   * @param target die angegriffene Burg
+   * @param troopCount die Truppen, die zum Angriff eingesetzt werden
+   * @return der Angriff, der bereits laufende Angriff, falls noch einer läuft, oder null, falls nicht angegriffen
+   *         werden kann, etwa nach Spielende
+   */
   public AttackThread startAttack(Castle source, Castle target, int troopCount) {
+    if(isOver)
+      return null;
+
     if(attackThread != null)
       return attackThread;
 
     if(source.getOwner() == target.getOwner() || troopCount < 1)
       return null;
 
-    attackThread = new AttackThread(this, source, target, troopCount);
-    attackThread.start();
+    AttackThread attack = new AttackThread(this, source, target, troopCount);
+    attackThread = attack;
     gameInterface.onAttackStarted(source, target, troopCount);
-    return attackThread;
+    if(headless) {
+      // Der Angriff läuft ohne Pausen vollständig ab, bevor diese Methode zurückkehrt
+      attack.fastForward();
+      if(instantCombat)
+        attack.resolveInstantly(randomSource.stream(RandomSource.STREAM_DICE));
+      else
+        attack.run();
+    } else {
+      attack.start();
+    }
+    return attack;
   }
 
+  /**
+   * Führt eine Würfelrunde eines Angriffs aus. Die Würfe werden dabei absteigend sortiert und paarweise verglichen.
+   * @param attackerCastle die angreifende Burg
+   * @param defenderCastle die angegriffene Burg
+   * @param rollAttacker die Würfe des Angreifers, werden absteigend sortiert
+   * @param rollDefender die Würfe des Verteidigers, werden absteigend sortiert
+   */
   public void doAttack(Castle attackerCastle, Castle defenderCastle, int[] rollAttacker, int[] rollDefender) {
 
-    Integer[] rollAttackerSorted = Arrays.stream(rollAttacker).boxed().sorted(Comparator.reverseOrder()).toArray(Integer[]::new);
-    Integer[] rollDefenderSorted = Arrays.stream(rollDefender).boxed().sorted(Comparator.reverseOrder()).toArray(Integer[]::new);
+    CombatModel.sortDescending(rollAttacker);
+    CombatModel.sortDescending(rollDefender);
 
     Player attacker = attackerCastle.getOwner();
     Player defender = defenderCastle.getOwner();
 
     for(int i = 0; i < Math.min(rollAttacker.length, rollDefender.length); i++) {
-      if(rollAttackerSorted[i] > rollDefenderSorted[i]) {
+      if(rollAttacker[i] > rollDefender[i]) {
         defenderCastle.removeTroops(1);
         if(defenderCastle.getTroopCount() == 0) {
           attackerCastle.removeTroops(1);
@@ -176,6 +346,34 @@ public class Game {
     gameInterface.onUpdate();
   }
 
+  /**
+   * Wendet den Ausgang eines Angriffs in einem Schritt an, siehe {@link AttackThread#resolveInstantly}
+   * @param attackerCastle die angreifende Burg
+   * @param defenderCastle die angegriffene Burg
+   * @param outcome der Ausgang
+   */
+  void applyCombatOutcome(Castle attackerCastle, Castle defenderCastle, CombatOutcome outcome) {
+    Player attacker = attackerCastle.getOwner();
+    Player defender = defenderCastle.getOwner();
+
+    attackerCastle.removeTroops(attackerCastle.getTroopCount() - outcome.getAttackerTroops());
+    if(outcome.isConquered()) {
+      defenderCastle.removeTroops(defenderCastle.getTroopCount());
+      defenderCastle.setOwner(attacker);
+      defenderCastle.addTroops(outcome.getDefenderTroops());
+      gameInterface.onConquer(defenderCastle, attacker);
+    } else {
+      defenderCastle.removeTroops(defenderCastle.getTroopCount() - outcome.getDefenderTroops());
+    }
+
+    if(outcome.getAttackerScore() > 0)
+      addScore(attacker, outcome.getAttackerScore());
+    if(outcome.getDefenderScore() > 0)
+      addScore(defender, outcome.getDefenderScore());
+
+    gameInterface.onUpdate();
+  }
+
   public void moveTroops(Castle source, Castle destination, int troopCount) {
     if(troopCount >= source.getTroopCount() || source.getOwner() != destination.getOwner())
       return;
@@ -194,11 +392,28 @@ public class Game {
   }
 
   public int[] roll(Player player, int dices, boolean fastForward) {
-    return gameInterface.onRoll(player, dices, fastForward);
+    int[] roll = gameInterface.onRoll(player, dices, fastForward);
+    return roll != null ? roll : rollDice(dices);
+  }
+
+  /**
+   * Würfelt mit dem Würfel-Strom des Spiels, siehe {@link RandomSource#STREAM_DICE}. Eine Oberfläche sollte ihre
+   * Würfe in {@link GameInterface#onRoll(Player, int, boolean)} ebenfalls hiermit erzeugen, damit sich das Spiel mit
+   * gleichem Startwert wiederholen lässt.
+   * @param dices die Anzahl der Würfel
+   * @return die Augenzahlen
+   */
+  public int[] rollDice(int dices) {
+    SplittableRandom random = randomSource.stream(RandomSource.STREAM_DICE);
+    int[] roll = new int[dices];
+    for(int i = 0; i < dices; i++) {
+      roll[i] = random.nextInt(6) + 1;
+    }
+    return roll;
   }
 
   public boolean allCastlesChosen() {
-    return gameMap.getCastles().stream().noneMatch(c -> c.getOwner() == null);
+    return getRemainingCastles() == 0;
   }
 
   public AttackThread getAttackThread() {
@@ -242,9 +457,8 @@ public class Game {
     if(winner != null)
       addScore(goal.getWinner(), 150);
 
-    Resources resources = Resources.getInstance();
     for(Player player : players) {
-      resources.addScoreEntry(new ScoreEntry(player, goal));
+      gameInterface.onScoreEntry(new ScoreEntry(player, goal));
     }
 
 
@@ -323,7 +537,7 @@ public class Game {
     		break;
     	case "Last Man Standing":
     		if(this.getCurrentPlayer() instanceof AI) {
-    			addTroops = (int)(this.getMap().getCastles().size() * 0.6d);
+    			addTroops = (int)(this.getMap().getCastleCount() * 0.6d);
     		}else {
     			addTroops = getRemainingCastles();
     		}
@@ -347,17 +561,51 @@ public class Game {
     currentPlayer.addTroops(addTroops);
     boolean isAI = (currentPlayer instanceof AI);
     gameInterface.onNextTurn(currentPlayer, addTroops, !isAI);
-    if(isAI) {
+    if(isAI && !headless) {
       ((AI)currentPlayer).doNextTurn(this);
     }
 
     playerQueue.add(currentPlayer);
   }
 
+  /**
+   * Führt im Headless-Modus die Züge der KI-Spieler aus, bis das Spiel vorbei ist oder die Rundengrenze erreicht wird
+   * @param maxRounds die letzte Runde, die noch gespielt wird
+   * @return true, wenn das Spiel vorbei ist
+   * @throws InterruptedException falls der Thread während eines Zuges unterbrochen wird
+   */
+  public boolean play(int maxRounds) throws InterruptedException {
+    if(!headless || !hasStarted)
+      throw new IllegalArgumentException("Spiel wurde nicht im Headless-Modus gestartet");
+
+    while(!isOver && round <= maxRounds) {
+      Player player = currentPlayer;
+      if(!(player instanceof AI))
+        throw new IllegalArgumentException("Im Headless-Modus können nur KI-Spieler ziehen");
+
+      ((AI) player).playTurn(this);
+
+      // Wie am Ende eines Zuges in einem eigenen Thread, siehe AI#doNextTurn
+      if(!isOver && currentPlayer == player)
+        nextTurn();
+    }
+    return isOver;
+  }
+
   public Player getCurrentPlayer() {
     return this.currentPlayer;
   }
 
+  /**
+   * Setzt Runde und aktuellen Spieler, ohne die Reihenfolge der Züge zu verändern, siehe {@link GameState#applyTo(Game)}
+   * @param round die Runde
+   * @param currentPlayer der aktuelle Spieler
+   */
+  void setTurn(int round, Player currentPlayer) {
+    this.round = round;
+    this.currentPlayer = currentPlayer;
+  }
+
   public List<Player> getPlayers() {
     return this.players;
   }
@@ -375,14 +623,12 @@ public class Game {
   }
   
   /**
-   * @return freeCastles number of castles with no owner
+   * @return freeCastles number of castles with no owner, computed from the castle counts of the players
    */
   public int getRemainingCastles() {
-	  int freeCastles = 0;
-	  for(Castle castle : this.getMap().getCastles()) {
-		  if(castle.getOwner() == null) {
-			  freeCastles++;
-		  }
+	  int freeCastles = this.getMap().getCastleCount();
+	  for(Player player : this.players) {
+		  freeCastles -= player.getCastleCount();
 	  }
 	  return freeCastles;
   }
@@ -2,17 +2,43 @@ package game;
 
 import game.map.Castle;
 
+/**
+ * Dieses Interface wird über den Ablauf eines Spiels informiert, etwa um es in der Oberfläche anzuzeigen.
+ * Alle Methoden haben eine leere Standardimplementierung, sodass ein Spiel auch ohne Oberfläche laufen kann,
+ * siehe {@link Game#setHeadless(boolean)}.
+ */
 public interface GameInterface {
 
-    void onAttackStopped();
-    void onAttackStarted(Castle source, Castle target, int troopCount);
-    void onCastleChosen(Castle castle, Player player);
-    void onNextTurn(Player currentPlayer, int troopsGot, boolean human);
-    void onNewRound(int round);
-    void onGameOver(Player winner);
-    void onGameStarted(Game game);
-    void onConquer(Castle castle, Player player);
-    void onUpdate();
-    void onAddScore(Player player, int score);
-    int[] onRoll(Player player, int dices, boolean fastForward);
+    /**
+     * Ein Interface, das alle Meldungen ignoriert
+     */
+    GameInterface NONE = new GameInterface() {};
+
+    default void onAttackStopped() {}
+    default void onAttackStarted(Castle source, Castle target, int troopCount) {}
+    default void onCastleChosen(Castle castle, Player player) {}
+    default void onNextTurn(Player currentPlayer, int troopsGot, boolean human) {}
+    default void onNewRound(int round) {}
+    default void onGameOver(Player winner) {}
+    default void onGameStarted(Game game) {}
+    default void onConquer(Castle castle, Player player) {}
+    default void onUpdate() {}
+    default void onAddScore(Player player, int score) {}
+
+    /**
+     * Wird am Ende des Spiels für jeden Spieler aufgerufen, etwa um den Eintrag in die Bestenliste zu übernehmen
+     * @param scoreEntry der Eintrag des Spielers
+     */
+    default void onScoreEntry(ScoreEntry scoreEntry) {}
+
+    /**
+     * Würfelt für einen Spieler
+     * @param player der Spieler
+     * @param dices die Anzahl der Würfel
+     * @param fastForward true, wenn ohne Animation gewürfelt werden soll
+     * @return die gewürfelten Augenzahlen oder null, dann würfelt das Spiel selbst, siehe {@link Game#rollDice(int)}
+     */
+    default int[] onRoll(Player player, int dices, boolean fastForward) {
+        return null;
+    }
 }
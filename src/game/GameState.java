@@ -0,0 +1,316 @@
+package game;
+
+import game.map.Castle;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Diese Klasse hält den veränderlichen Zustand eines Spiels in einfachen Arrays: Besitzer und Truppen jeder Burg sowie
+ * verbleibende Truppen und Punkte jedes Spielers, die Runde und den aktuellen Spieler.
+ *
+ * Burgen und Spieler werden über ihren Index in {@link game.map.GameMap#getCastles()} bzw. {@link Game#getPlayers()}
+ * angesprochen, ein Besitzer von -1 steht für eine freie Burg. Ein Zustand kann mit {@link #copy()} in O(n) kopiert
+ * werden, etwa für eine Vorausschau, ohne die Objekte des Spiels zu verändern.
+ *
+ * Jede Änderung wird in einem Journal festgehalten. Mit {@link #mark()} und {@link #undo(int)} lassen sich so Züge
+ * ausprobieren und wieder zurücknehmen, ohne den Zustand zu kopieren.
+ */
+public class GameState {
+
+    // Arten der Einträge im Journal
+    private static final int OWNER = 0;
+    private static final int TROOPS = 1;
+    private static final int RESERVE = 2;
+    private static final int POINTS = 3;
+    private static final int ROUND = 4;
+    private static final int CURRENT_PLAYER = 5;
+
+    private final int[] owners;
+    private final int[] troops;
+    private final int[] reserves;
+    private final int[] points;
+    private int round;
+    private int currentPlayer;
+
+    // Je Eintrag: Art, Index und vorheriger Wert
+    private int[] journal;
+    private int journalSize;
+
+    /**
+     * Erzeugt einen leeren Zustand, alle Burgen sind frei
+     * @param castleCount die Anzahl der Burgen
+     * @param playerCount die Anzahl der Spieler
+     */
+    public GameState(int castleCount, int playerCount) {
+        this.owners = new int[castleCount];
+        this.troops = new int[castleCount];
+        this.reserves = new int[playerCount];
+        this.points = new int[playerCount];
+        this.currentPlayer = -1;
+        this.journal = new int[48];
+        Arrays.fill(this.owners, -1);
+    }
+
+    private GameState(GameState other) {
+        this.owners = other.owners.clone();
+        this.troops = other.troops.clone();
+        this.reserves = other.reserves.clone();
+        this.points = other.points.clone();
+        this.round = other.round;
+        this.currentPlayer = other.currentPlayer;
+        this.journal = new int[48];
+    }
+
+    /**
+     * Liest den aktuellen Zustand eines Spiels aus
+     * @param game das Spiel, die Karte muss bereits gesetzt sein
+     * @return der Zustand
+     */
+    public static GameState capture(Game game) {
+        List<Castle> castles = game.getMap().getCastles();
+        List<Player> players = game.getPlayers();
+        GameState state = new GameState(castles.size(), players.size());
+
+        for (int i = 0; i < castles.size(); i++) {
+            Castle castle = castles.get(i);
+            state.owners[i] = players.indexOf(castle.getOwner());
+            state.troops[i] = castle.getTroopCount();
+        }
+        for (int i = 0; i < players.size(); i++) {
+            state.reserves[i] = players.get(i).getRemainingTroops();
+            state.points[i] = players.get(i).getPoints();
+        }
+        state.round = game.getRound();
+        state.currentPlayer = players.indexOf(game.getCurrentPlayer());
+        return state;
+    }
+
+    /**
+     * Überträgt diesen Zustand auf die Burgen und Spieler eines Spiels, etwa um einen gespeicherten Spielstand zu
+     * laden. Die Reihenfolge der Züge ({@link Game#nextTurn()}) wird dabei nicht verändert.
+     * @param game das Spiel mit der Karte und den Spielern, aus denen der Zustand erzeugt wurde
+     */
+    public void applyTo(Game game) {
+        List<Castle> castles = game.getMap().getCastles();
+        List<Player> players = game.getPlayers();
+        if (castles.size() != owners.length || players.size() != reserves.length)
+            throw new IllegalArgumentException("Zustand passt nicht zum Spiel");
+
+        for (int i = 0; i < castles.size(); i++) {
+            Castle castle = castles.get(i);
+            castle.removeTroops(castle.getTroopCount());
+            castle.setOwner(owners[i] >= 0 ? players.get(owners[i]) : null);
+            castle.addTroops(troops[i]);
+        }
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            player.removeTroops(player.getRemainingTroops());
+            player.addTroops(reserves[i]);
+            player.addPoints(points[i] - player.getPoints());
+        }
+        game.setTurn(round, currentPlayer >= 0 ? players.get(currentPlayer) : null);
+    }
+
+    /**
+     * Erzeugt eine unabhängige Kopie dieses Zustands mit leerem Journal
+     * @return die Kopie
+     */
+    public GameState copy() {
+        return new GameState(this);
+    }
+
+    public int getCastleCount() {
+        return owners.length;
+    }
+
+    public int getPlayerCount() {
+        return reserves.length;
+    }
+
+    public int getOwner(int castle) {
+        return owners[castle];
+    }
+
+    public int getTroops(int castle) {
+        return troops[castle];
+    }
+
+    public int getReserve(int player) {
+        return reserves[player];
+    }
+
+    public int getPoints(int player) {
+        return points[player];
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public void setOwner(int castle, int player) {
+        record(OWNER, castle, owners[castle]);
+        owners[castle] = player;
+    }
+
+    public void setTroops(int castle, int count) {
+        record(TROOPS, castle, troops[castle]);
+        troops[castle] = count;
+    }
+
+    public void setReserve(int player, int count) {
+        record(RESERVE, player, reserves[player]);
+        reserves[player] = count;
+    }
+
+    public void addPoints(int player, int points) {
+        record(POINTS, player, this.points[player]);
+        this.points[player] += points;
+    }
+
+    public void setRound(int round) {
+        record(ROUND, 0, this.round);
+        this.round = round;
+    }
+
+    public void setCurrentPlayer(int player) {
+        record(CURRENT_PLAYER, 0, this.currentPlayer);
+        this.currentPlayer = player;
+    }
+
+    /**
+     * Setzt Truppen aus dem Vorrat des Besitzers auf eine Burg, siehe {@link Game#addTroops(Player, Castle, int)}
+     * @param castle Index der Burg
+     * @param count die Anzahl der Truppen, höchstens der Vorrat des Besitzers
+     */
+    public void placeTroops(int castle, int count) {
+        int owner = owners[castle];
+        if (owner < 0 || count < 1)
+            return;
+
+        count = Math.min(count, reserves[owner]);
+        setReserve(owner, reserves[owner] - count);
+        setTroops(castle, troops[castle] + count);
+    }
+
+    /**
+     * Bewegt Truppen zwischen zwei Burgen desselben Besitzers, mindestens eine Truppe bleibt zurück,
+     * siehe {@link Castle#moveTroops(Castle, int)}
+     * @param source Index der Ausgangsburg
+     * @param destination Index der Zielburg
+     * @param count die Anzahl der Truppen
+     */
+    public void moveTroops(int source, int destination, int count) {
+        if (owners[source] != owners[destination] || troops[source] - count < 1 || count < 1)
+            return;
+
+        setTroops(source, troops[source] - count);
+        setTroops(destination, troops[destination] + count);
+    }
+
+    /**
+     * Wendet das Ergebnis einer Würfelrunde nach den Regeln von {@link Game#doAttack(Castle, Castle, int[], int[])} an
+     * @param attacker Index der angreifenden Burg
+     * @param defender Index der verteidigenden Burg
+     * @param attackerLosses die Anzahl der Würfel, die der Angreifer verloren hat
+     * @param defenderLosses die Anzahl der Würfel, die der Verteidiger verloren hat
+     * @return true, wenn die Burg erobert wurde
+     */
+    public boolean applyAttack(int attacker, int defender, int attackerLosses, int defenderLosses) {
+        int attackerPlayer = owners[attacker];
+        int defenderPlayer = owners[defender];
+
+        if (attackerLosses > 0) {
+            setTroops(attacker, troops[attacker] - attackerLosses);
+            if (defenderPlayer >= 0)
+                addPoints(defenderPlayer, 30 * attackerLosses);
+        }
+
+        int remaining = Math.max(0, troops[defender] - defenderLosses);
+        if (remaining > 0) {
+            setTroops(defender, remaining);
+            addPoints(attackerPlayer, 20 * defenderLosses);
+            return false;
+        }
+
+        // Erobert: eine Truppe zieht in die Burg ein
+        addPoints(attackerPlayer, 20 * (troops[defender] - 1) + 50);
+        setTroops(attacker, troops[attacker] - 1);
+        setOwner(defender, attackerPlayer);
+        setTroops(defender, 1);
+        return true;
+    }
+
+    /**
+     * Gibt die aktuelle Position im Journal zurück, bis zu der mit {@link #undo(int)} zurückgesetzt werden kann
+     * @return die Position
+     */
+    public int mark() {
+        return journalSize;
+    }
+
+    /**
+     * Nimmt alle Änderungen zurück, die nach der angegebenen Position vorgenommen wurden
+     * @param mark eine Position aus {@link #mark()}
+     */
+    public void undo(int mark) {
+        if (mark < 0 || mark > journalSize)
+            throw new IllegalArgumentException("Ungültige Position im Journal");
+
+        while (journalSize > mark) {
+            journalSize -= 3;
+            int index = journal[journalSize + 1];
+            int value = journal[journalSize + 2];
+            switch (journal[journalSize]) {
+                case OWNER: owners[index] = value; break;
+                case TROOPS: troops[index] = value; break;
+                case RESERVE: reserves[index] = value; break;
+                case POINTS: points[index] = value; break;
+                case ROUND: round = value; break;
+                default: currentPlayer = value; break;
+            }
+        }
+    }
+
+    /**
+     * Verwirft das Journal, die bisherigen Änderungen können danach nicht mehr zurückgenommen werden
+     */
+    public void clearJournal() {
+        journalSize = 0;
+    }
+
+    private void record(int type, int index, int oldValue) {
+        if (journalSize + 3 > journal.length)
+            journal = Arrays.copyOf(journal, journal.length * 2);
+
+        journal[journalSize++] = type;
+        journal[journalSize++] = index;
+        journal[journalSize++] = oldValue;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof GameState))
+            return false;
+
+        GameState other = (GameState) obj;
+        return round == other.round && currentPlayer == other.currentPlayer && Arrays.equals(owners, other.owners)
+            && Arrays.equals(troops, other.troops) && Arrays.equals(reserves, other.reserves)
+            && Arrays.equals(points, other.points);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 31 * round + currentPlayer;
+        result = 31 * result + Arrays.hashCode(owners);
+        result = 31 * result + Arrays.hashCode(troops);
+        result = 31 * result + Arrays.hashCode(reserves);
+        return 31 * result + Arrays.hashCode(points);
+    }
+}
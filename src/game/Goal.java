@@ -30,4 +30,19 @@ public abstract class Goal {
     protected Game getGame() {
         return this.game;
     }
+
+    /**
+     * Gibt den Spieler zurück, dem alle Burgen der Karte gehören. Verwendet die Anzahl der Burgen je Spieler statt alle
+     * Burgen zu durchlaufen und benötigt daher nur O(Spieler).
+     * @return der Spieler oder null, falls noch Burgen frei sind oder mehrere Spieler Burgen besitzen
+     */
+    protected Player getOwnerOfAllCastles() {
+        int castleCount = game.getMap().getCastleCount();
+        for(Player player : game.getPlayers()) {
+            if(player.getCastleCount() == castleCount)
+                return player;
+        }
+
+        return null;
+    }
 }
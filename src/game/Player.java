@@ -5,8 +5,10 @@ import game.map.Castle;
 import java.awt.Color;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 public abstract class Player {
 
@@ -16,12 +18,16 @@ public abstract class Player {
     private int remainingTroops;
     private boolean jokerAvailable;
 
+    // Alle Burgen dieses Spielers in der Reihenfolge, in der er sie erhalten hat. Wird von Castle#setOwner gepflegt.
+    private final Set<Castle> castles;
+
     protected Player(String name, Color color) {
         this.name = name;
         this.points = 0;
         this.color = color;
         this.remainingTroops = 0;
         this.jokerAvailable = true;
+        this.castles = new LinkedHashSet<>();
     }
 
     public int getRemainingTroops() {
@@ -84,15 +90,60 @@ public abstract class Player {
     }
 
     public int getNumRegions(Game game) {
-        return this.getCastles(game).size();
+        return this.getCastleCount();
     }
 
+    /**
+     * Gibt eine Kopie der Burgen dieses Spielers zurück. Die Liste kann verändert werden und bleibt gültig, wenn sich
+     * danach der Besitzer einer Burg ändert, etwa während die KI über ihre Burgen iteriert und dabei angreift.
+     * @param game das Spiel
+     * @return die Burgen in der Reihenfolge, in der der Spieler sie erhalten hat
+     */
     public List<Castle> getCastles(Game game) {
-        return game.getMap().getCastles().stream().filter(c -> c.getOwner() == this).collect(Collectors.toList());
+        synchronized (castles) {
+            return new ArrayList<>(castles);
+        }
+    }
+
+    /**
+     * @return die Anzahl der Burgen dieses Spielers in O(1)
+     */
+    public int getCastleCount() {
+        synchronized (castles) {
+            return castles.size();
+        }
+    }
+
+    /**
+     * Trägt eine Burg als Besitz dieses Spielers ein. Wird von {@link Castle#setOwner(Player)} aufgerufen und sollte
+     * nicht direkt verwendet werden.
+     * @param castle die Burg
+     */
+    public void addCastle(Castle castle) {
+        synchronized (castles) {
+            castles.add(castle);
+        }
+    }
+
+    /**
+     * Entfernt eine Burg aus dem Besitz dieses Spielers. Wird von {@link Castle#setOwner(Player)} aufgerufen und sollte
+     * nicht direkt verwendet werden.
+     * @param castle die Burg
+     */
+    public void removeCastle(Castle castle) {
+        synchronized (castles) {
+            castles.remove(castle);
+        }
     }
 
+    /**
+     * Setzt Punkte und Truppen zurück und gibt alle Burgen des Spielers frei. Die Burgen werden über
+     * {@link Castle#setOwner(Player)} freigegeben, damit Burg, Spieler und Königreich denselben Besitzer kennen.
+     */
     public void reset() {
         this.remainingTroops = 0;
         this.points = 0;
+        for (Castle castle : getCastles(null))
+            castle.setOwner(null);
     }
 }
@@ -0,0 +1,70 @@
+package game;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Die Quelle aller Zufallszahlen eines Spiels. Aus einem Startwert werden benannte, voneinander unabhängige Ströme
+ * abgeleitet, etwa einer für die Würfel und einer je KI-Spieler. Ein Strom hängt nur vom Startwert und seinem Namen ab,
+ * nicht davon, wann oder in welcher Reihenfolge die Ströme angefragt werden. Gleicher Startwert und gleiche Züge
+ * ergeben so immer den gleichen Spielverlauf.
+ *
+ * Die Ströme sind nicht threadsicher, jeder Strom sollte nur von einem Verbraucher verwendet werden. Spiele, die
+ * parallel laufen, haben jeweils eine eigene Quelle und teilen sich daher keinen Zufallsgenerator.
+ */
+public class RandomSource {
+
+    /**
+     * Die Namen der Ströme, die vom Spiel selbst verwendet werden
+     */
+    public static final String STREAM_ORDER = "order";
+    public static final String STREAM_DICE = "dice";
+    public static final String STREAM_MAP = "map";
+    public static final String STREAM_SWAP = "swap";
+
+    private final long seed;
+    private final Map<String, SplittableRandom> streams;
+
+    /**
+     * Erzeugt eine Quelle mit zufälligem Startwert
+     */
+    public RandomSource() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    public RandomSource(long seed) {
+        this.seed = seed;
+        this.streams = new HashMap<>();
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Gibt den Strom mit dem angegebenen Namen zurück. Beim ersten Aufruf wird er aus Startwert und Namen erzeugt,
+     * danach wird immer derselbe Strom zurückgegeben.
+     * @param name der Name des Stroms
+     * @return der Strom
+     */
+    public synchronized SplittableRandom stream(String name) {
+        return streams.computeIfAbsent(name, n -> new SplittableRandom(mix(seed + mix(n.hashCode()))));
+    }
+
+    /**
+     * Gibt den Strom eines Spielers zurück, etwa für die Entscheidungen einer KI
+     * @param playerIndex die Position des Spielers in {@link Game#getPlayers()}
+     * @return der Strom
+     */
+    public SplittableRandom playerStream(int playerIndex) {
+        return stream("player" + playerIndex);
+    }
+
+    // Verteilt die Bits gleichmäßig, damit ähnliche Startwerte und Namen unabhängige Ströme ergeben (MurmurHash3)
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,107 @@
+package game.combat;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Die exakte Verteilung der Ausgänge eines Angriffs, siehe {@link CombatModel#getDistribution(int, int, int)}.
+ *
+ * Ein Ausgang kann in O(1) gezogen werden. Dazu wird beim Erzeugen eine Alias-Tabelle nach Vose aufgebaut: Jeder
+ * Ausgang erhält ein Feld, das mit seiner Wahrscheinlichkeit für ihn selbst und sonst für einen zweiten Ausgang steht.
+ * Ein Zug wählt ein Feld gleichverteilt und entscheidet mit einer zweiten Zufallszahl zwischen den beiden Ausgängen.
+ */
+public class CombatDistribution {
+
+    private final List<CombatOutcome> outcomes;
+    private final double[] probabilities;
+    private final double conquestProbability;
+
+    // Alias-Tabelle
+    private final double[] threshold;
+    private final int[] alias;
+
+    CombatDistribution(List<CombatOutcome> outcomes, double[] probabilities) {
+        this.outcomes = outcomes;
+        this.probabilities = probabilities;
+
+        double conquest = 0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            if (outcomes.get(i).isConquered())
+                conquest += probabilities[i];
+        }
+        this.conquestProbability = conquest;
+
+        int n = probabilities.length;
+        this.threshold = new double[n];
+        this.alias = new int[n];
+
+        double[] scaled = new double[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            scaled[i] = probabilities[i] * n;
+            if (scaled[i] < 1)
+                small.push(i);
+            else
+                large.push(i);
+        }
+
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+            threshold[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1)
+                small.push(more);
+            else
+                large.push(more);
+        }
+
+        // Übrig bleiben Felder, die durch Rundungsfehler knapp neben 1 liegen
+        while (!large.isEmpty())
+            threshold[large.pop()] = 1;
+        while (!small.isEmpty())
+            threshold[small.pop()] = 1;
+    }
+
+    /**
+     * @return alle möglichen Ausgänge, jeder mit einer Wahrscheinlichkeit größer als 0
+     */
+    public List<CombatOutcome> getOutcomes() {
+        return Collections.unmodifiableList(this.outcomes);
+    }
+
+    /**
+     * @param index die Position des Ausgangs in {@link #getOutcomes()}
+     * @return die Wahrscheinlichkeit des Ausgangs
+     */
+    public double getProbability(int index) {
+        return this.probabilities[index];
+    }
+
+    /**
+     * @return die Wahrscheinlichkeit, dass die Burg erobert wird
+     */
+    public double getConquestProbability() {
+        return this.conquestProbability;
+    }
+
+    /**
+     * Zieht einen Ausgang mit seiner Wahrscheinlichkeit
+     * @param random der Zufallsgenerator
+     * @return der Ausgang
+     */
+    public CombatOutcome sample(SplittableRandom random) {
+        int i = random.nextInt(threshold.length);
+        return outcomes.get(random.nextDouble() < threshold[i] ? i : alias[i]);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d Ausgänge, Eroberung %.4f", outcomes.size(), conquestProbability);
+    }
+}
@@ -0,0 +1,178 @@
+package game.combat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Berechnet die exakte Verteilung der Ausgänge eines Angriffs nach den Regeln von {@link game.AttackThread} und
+ * {@link game.Game#doAttack}, ohne zu würfeln.
+ *
+ * In jeder Würfelrunde würfelt der Angreifer mit bis zu drei Würfeln, höchstens mit den angreifenden Truppen und
+ * immer so, dass eine Truppe in der Burg bleibt. Der Verteidiger würfelt mit bis zu zwei Würfeln. Die absteigend
+ * sortierten Würfel werden paarweise verglichen, bei Gleichstand gewinnt der Verteidiger. Der Angriff endet mit der
+ * Eroberung oder wenn der Angreifer so viele Truppen verloren hat, wie er zum Angriff eingesetzt hat.
+ *
+ * Der Angriff ist damit eine Markow-Kette über die Truppen beider Burgen. Die Wahrscheinlichkeiten einer einzelnen
+ * Runde werden einmalig durch Aufzählen aller Würfe bestimmt, die Verteilung eines Angriffs mit a angreifenden und
+ * d verteidigenden Truppen in O(a * d).
+ */
+public class CombatModel {
+
+    public static final int MAX_ATTACKER_DICE = 3;
+    public static final int MAX_DEFENDER_DICE = 2;
+
+    // ROUND[k][m][j]: Wahrscheinlichkeit, dass der Verteidiger bei k und m Würfeln j Truppen verliert
+    private static final double[][][] ROUND = computeRoundProbabilities();
+
+    private CombatModel() {
+    }
+
+    private static double[][][] computeRoundProbabilities() {
+        double[][][] round = new double[MAX_ATTACKER_DICE + 1][MAX_DEFENDER_DICE + 1][];
+        for (int k = 1; k <= MAX_ATTACKER_DICE; k++) {
+            for (int m = 1; m <= MAX_DEFENDER_DICE; m++) {
+                int comparisons = Math.min(k, m);
+                int[] counts = new int[comparisons + 1];
+                int total = 1;
+                for (int i = 0; i < k + m; i++)
+                    total *= 6;
+
+                int[] attacker = new int[k];
+                int[] defender = new int[m];
+                for (int roll = 0; roll < total; roll++) {
+                    int rest = roll;
+                    for (int i = 0; i < k; i++, rest /= 6)
+                        attacker[i] = rest % 6;
+                    for (int i = 0; i < m; i++, rest /= 6)
+                        defender[i] = rest % 6;
+
+                    sortDescending(attacker);
+                    sortDescending(defender);
+                    int defenderLosses = 0;
+                    for (int i = 0; i < comparisons; i++) {
+                        if (attacker[i] > defender[i])
+                            defenderLosses++;
+                    }
+                    counts[defenderLosses]++;
+                }
+
+                round[k][m] = new double[comparisons + 1];
+                for (int j = 0; j <= comparisons; j++)
+                    round[k][m][j] = counts[j] / (double) total;
+            }
+        }
+        return round;
+    }
+
+    /**
+     * Sortiert Würfe absteigend direkt im Array. Sortiert wird durch Einfügen, für die höchstens drei Würfel ohne
+     * Boxing und ohne Hilfsarray.
+     * @param values die Würfe, werden verändert
+     */
+    public static void sortDescending(int[] values) {
+        for (int i = 1; i < values.length; i++) {
+            int value = values[i];
+            int j = i - 1;
+            for (; j >= 0 && values[j] < value; j--)
+                values[j + 1] = values[j];
+            values[j + 1] = value;
+        }
+    }
+
+    /**
+     * Gibt die Wahrscheinlichkeit zurück, dass der Verteidiger in einer Würfelrunde eine bestimmte Anzahl an Truppen
+     * verliert. Die übrigen Vergleiche verliert der Angreifer.
+     * @param attackerDice die Anzahl der Würfel des Angreifers, 1 bis 3
+     * @param defenderDice die Anzahl der Würfel des Verteidigers, 1 bis 2
+     * @param defenderLosses die Verluste des Verteidigers, höchstens die kleinere der beiden Würfelanzahlen
+     * @return die Wahrscheinlichkeit
+     */
+    public static double getRoundProbability(int attackerDice, int defenderDice, int defenderLosses) {
+        if (attackerDice < 1 || attackerDice > MAX_ATTACKER_DICE || defenderDice < 1 || defenderDice > MAX_DEFENDER_DICE)
+            throw new IllegalArgumentException("Ungültige Anzahl an Würfeln");
+
+        double[] round = ROUND[attackerDice][defenderDice];
+        return defenderLosses >= 0 && defenderLosses < round.length ? round[defenderLosses] : 0;
+    }
+
+    /**
+     * Berechnet die Verteilung der Ausgänge eines Angriffs, wie er mit {@link game.Game#startAttack} gestartet wird
+     * @param attackerTroops die Truppen in der angreifenden Burg
+     * @param troopCount die Truppen, die zum Angriff eingesetzt werden
+     * @param defenderTroops die Truppen in der angegriffenen Burg
+     * @return die Verteilung
+     */
+    public static CombatDistribution getDistribution(int attackerTroops, int troopCount, int defenderTroops) {
+        if (attackerTroops < 1 || troopCount < 1 || defenderTroops < 1)
+            throw new IllegalArgumentException("Ungültige Anzahl an Truppen");
+
+        // Wie in AttackThread: Angegriffen wird, solange der Angreifer mehr als attackUntil Truppen hat
+        int attackUntil = Math.max(1, attackerTroops - troopCount);
+        List<CombatOutcome> outcomes = new ArrayList<>();
+        List<Double> probabilities = new ArrayList<>();
+        if (attackerTroops <= attackUntil) {
+            outcomes.add(new CombatOutcome(attackerTroops, defenderTroops, false, 0, 0));
+            probabilities.add(1.0);
+            return createDistribution(outcomes, probabilities);
+        }
+
+        // Wahrscheinlichkeit der Zustände während des Angriffs, Index (a - attackUntil - 1) * defenderTroops + d - 1
+        int attackerStates = attackerTroops - attackUntil;
+        double[] mass = new double[attackerStates * defenderTroops];
+        mass[mass.length - 1] = 1;
+
+        // Ausgänge: Eroberung nach Truppen des Angreifers, Abbruch nach Truppen des Verteidigers. Der Angreifer verliert
+        // je Runde höchstens zwei Truppen und hat beim Abbruch daher attackUntil oder attackUntil - 1 Truppen.
+        double[] conquered = new double[attackerTroops + 1];
+        double[][] stopped = new double[2][defenderTroops + 1];
+
+        // Jede Runde verringert die Truppen mindestens einer Seite, Zustände mit mehr Truppen kommen daher zuerst
+        for (int a = attackerTroops; a > attackUntil; a--) {
+            int k = Math.min(MAX_ATTACKER_DICE, Math.min(troopCount, a - 1));
+            for (int d = defenderTroops; d > 0; d--) {
+                double p = mass[(a - attackUntil - 1) * defenderTroops + d - 1];
+                if (p == 0)
+                    continue;
+
+                int m = Math.min(MAX_DEFENDER_DICE, d);
+                double[] round = ROUND[k][m];
+                int comparisons = round.length - 1;
+                for (int j = 0; j <= comparisons; j++) {
+                    double q = p * round[j];
+                    int na = a - (comparisons - j);
+                    int nd = d - j;
+                    if (nd == 0)
+                        conquered[na - 1] += q;
+                    else if (na <= attackUntil)
+                        stopped[attackUntil - na][nd] += q;
+                    else
+                        mass[(na - attackUntil - 1) * defenderTroops + nd - 1] += q;
+                }
+            }
+        }
+
+        for (int a = 0; a <= attackerTroops; a++) {
+            if (conquered[a] > 0) {
+                outcomes.add(new CombatOutcome(a, 1, true, attackerTroops - a - 1, defenderTroops));
+                probabilities.add(conquered[a]);
+            }
+        }
+        for (int i = 0; i < 2; i++) {
+            for (int d = 1; d <= defenderTroops; d++) {
+                if (stopped[i][d] > 0) {
+                    int a = attackUntil - i;
+                    outcomes.add(new CombatOutcome(a, d, false, attackerTroops - a, defenderTroops - d));
+                    probabilities.add(stopped[i][d]);
+                }
+            }
+        }
+        return createDistribution(outcomes, probabilities);
+    }
+
+    private static CombatDistribution createDistribution(List<CombatOutcome> outcomes, List<Double> probabilities) {
+        double[] values = new double[probabilities.size()];
+        for (int i = 0; i < values.length; i++)
+            values[i] = probabilities.get(i);
+        return new CombatDistribution(outcomes, values);
+    }
+}
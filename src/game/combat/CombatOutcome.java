@@ -0,0 +1,72 @@
+package game.combat;
+
+/**
+ * Der Ausgang eines vollständigen Angriffs, siehe {@link CombatDistribution}. Aus ihm ergeben sich auch die Punkte,
+ * die bei einem Angriff Würfel für Würfel vergeben worden wären.
+ */
+public class CombatOutcome {
+
+    private final int attackerTroops;
+    private final int defenderTroops;
+    private final boolean conquered;
+    private final int attackerLosses;
+    private final int defenderLosses;
+
+    CombatOutcome(int attackerTroops, int defenderTroops, boolean conquered, int attackerLosses, int defenderLosses) {
+        this.attackerTroops = attackerTroops;
+        this.defenderTroops = defenderTroops;
+        this.conquered = conquered;
+        this.attackerLosses = attackerLosses;
+        this.defenderLosses = defenderLosses;
+    }
+
+    /**
+     * @return die Truppen, die in der angreifenden Burg verbleiben
+     */
+    public int getAttackerTroops() {
+        return this.attackerTroops;
+    }
+
+    /**
+     * @return die Truppen in der angegriffenen Burg, nach einer Eroberung die eine eingezogene Truppe des Angreifers
+     */
+    public int getDefenderTroops() {
+        return this.defenderTroops;
+    }
+
+    public boolean isConquered() {
+        return this.conquered;
+    }
+
+    /**
+     * @return die im Kampf verlorenen Truppen des Angreifers, ohne die Truppe, die in eine eroberte Burg einzieht
+     */
+    public int getAttackerLosses() {
+        return this.attackerLosses;
+    }
+
+    public int getDefenderLosses() {
+        return this.defenderLosses;
+    }
+
+    /**
+     * Die Punkte des Angreifers nach {@link game.Game#doAttack}: 20 je besiegter Truppe, für die letzte Truppe einer
+     * eroberten Burg stattdessen 50
+     * @return die Punkte
+     */
+    public int getAttackerScore() {
+        return conquered ? 20 * (defenderLosses - 1) + 50 : 20 * defenderLosses;
+    }
+
+    /**
+     * @return die Punkte des Verteidigers, 30 je besiegter Truppe des Angreifers
+     */
+    public int getDefenderScore() {
+        return 30 * attackerLosses;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d:%d%s", attackerTroops, defenderTroops, conquered ? " erobert" : "");
+    }
+}
@@ -3,7 +3,6 @@ package game.goals;
 import game.Game;
 import game.Goal;
 import game.Player;
-import game.map.Castle;
 
 public class ConquerGoal extends Goal {
 
@@ -22,17 +21,7 @@ public class ConquerGoal extends Goal {
         if(game.getRound() < 2)
             return null;
 
-        Player p = null;
-        for(Castle c : game.getMap().getCastles()) {
-            if(c.getOwner() == null)
-                return null;
-            else if(p == null)
-                p = c.getOwner();
-            else if(p != c.getOwner())
-                return null;
-        }
-
-        return p;
+        return this.getOwnerOfAllCastles();
     }
 
     @Override
@@ -2,7 +2,6 @@ package game.goals;
 
 import game.Goal;
 import game.Player;
-import game.map.Castle;
 import game.players.Human;
 
 public class SurviveGoal extends Goal{
@@ -27,11 +26,7 @@ public class SurviveGoal extends Goal{
 		for(Player player : this.getGame().getPlayers()){
 			if(player instanceof Human) {
 				human = player;
-				for(Castle castle : getGame().getMap().getCastles()) {
-					if(castle.getOwner() == player) {
-						humanHasCastles = true;
-					}
-				}
+				humanHasCastles = player.getCastleCount() > 0;
 			}else {
 				ai = player;
 			}
@@ -87,8 +87,23 @@ public class Castle {
         return this.distance(otherLocation);
     }
 
+    /**
+     * Setzt den Besitzer der Burg und hält die Burgen der Spieler und die Besitzer des Königreichs aktuell,
+     * siehe {@link Player#getCastles(game.Game)} und {@link Kingdom#getOwner()}
+     * @param player der neue Besitzer oder null
+     */
     public void setOwner(Player player) {
+        if(this.owner == player)
+            return;
+
+        Player oldOwner = this.owner;
+        if(oldOwner != null)
+            oldOwner.removeCastle(this);
         this.owner = player;
+        if(player != null)
+            player.addCastle(this);
+        if(kingdom != null)
+            kingdom.ownerChanged(oldOwner, player);
     }
 
     public void addTroops(int i) {
@@ -105,7 +120,7 @@ public class Castle {
     public void removeTroops(int i) {
         this.troopCount = Math.max(0, this.troopCount - i);
         if(this.troopCount == 0)
-            this.owner = null;
+            this.setOwner(null);
     }
 
     /**
@@ -125,13 +140,4 @@ public class Castle {
         if(kingdom != null)
             kingdom.addCastle(this);
     }
-    
-    /**
-     * Gibt true zurück, wenn die Namen der Burgen übereinstimmen.
-     * @param castle
-     * @return
-     */
-    public boolean isSame(Castle castle) {
-      return this.getName().equals(castle.getName());
-    }
 }
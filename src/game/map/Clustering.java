@@ -1,144 +1,305 @@
 package game.map;
 
+import java.awt.Point;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
-import java.util.stream.Collector;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Diese Klasse teilt Burgen in Königreiche auf
  */
 public class Clustering {
 
+  /**
+   * Standardwert für die maximale Anzahl an Iterationen, siehe {@link #setMaxIterations(int)}
+   */
+  public static final int DEFAULT_MAX_ITERATIONS = 25;
+
+  // Ab dieser Anzahl an Burgen werden Zuordnung und Zentren parallel berechnet
+  private static final int PARALLEL_THRESHOLD = 5000;
+
   private Random random;
   private final List<Castle> allCastles;
   private final int kingdomCount;
+  private int maxIterations;
+  private boolean parallel;
+
+  // Positionen der Burgen
+  private final int[] xs;
+  private final int[] ys;
 
   /**
    * Ein neues Clustering-Objekt erzeugen.
-   * 
+   *
    * @param castles Die Liste von Burgen, die aufgeteilt werden sollen
    * @param kingdomCount Die Anzahl von Königreichen die generiert werden sollen
    */
   public Clustering(List<Castle> castles, int kingdomCount) {
+    this(castles, kingdomCount, new Random());
+  }
+
+  /**
+   * Ein neues Clustering-Objekt erzeugen, dessen Zufallsentscheidungen aus dem angegebenen
+   * Zufallsgenerator stammen.
+   *
+   * @param castles Die Liste von Burgen, die aufgeteilt werden sollen
+   * @param kingdomCount Die Anzahl von Königreichen die generiert werden sollen
+   * @param random Der Zufallsgenerator
+   */
+  public Clustering(List<Castle> castles, int kingdomCount, Random random) {
     if (kingdomCount < 2)
       throw new IllegalArgumentException("Ungültige Anzahl an Königreichen");
 
-    this.random = new Random();
+    this.random = random;
     this.kingdomCount = kingdomCount;
     this.allCastles = Collections.unmodifiableList(castles);
+    this.maxIterations = DEFAULT_MAX_ITERATIONS;
+    this.parallel = castles.size() >= PARALLEL_THRESHOLD;
+
+    this.xs = new int[castles.size()];
+    this.ys = new int[castles.size()];
+    for (int i = 0; i < castles.size(); i++) {
+      Point location = castles.get(i).getLocationOnMap();
+      xs[i] = location.x;
+      ys[i] = location.y;
+    }
+  }
+
+  /**
+   * Setzt die maximale Anzahl an Iterationen. Ändert sich vorher die Zuordnung keiner Burg mehr,
+   * wird das Verfahren früher beendet.
+   *
+   * @param maxIterations die maximale Anzahl an Iterationen, mindestens 1
+   */
+  public void setMaxIterations(int maxIterations) {
+    if (maxIterations < 1)
+      throw new IllegalArgumentException("Ungültige Anzahl an Iterationen");
+
+    this.maxIterations = maxIterations;
+  }
+
+  /**
+   * Legt fest, ob Zuordnung und Zentren parallel berechnet werden. Standardmäßig geschieht das ab
+   * {@link #PARALLEL_THRESHOLD} Burgen. Das Ergebnis ist in beiden Fällen gleich.
+   *
+   * @param parallel true für parallele Berechnung
+   */
+  public void setParallel(boolean parallel) {
+    this.parallel = parallel;
   }
 
   /**
    * Gibt eine Liste von Königreichen zurück. Jedes Königreich sollte dabei einen Index im Bereich
    * 0-5 bekommen, damit die Burg richtig angezeigt werden kann. Siehe auch
    * {@link Kingdom#getType()}
+   *
+   * Die Zentren werden nach k-means++ gewählt. Danach wird abwechselnd jede Burg dem nächsten
+   * Zentrum zugeordnet und die Zentren neu bestimmt, bis sich die Zuordnung keiner Burg mehr
+   * ändert oder die maximale Anzahl an Iterationen erreicht ist.
    */
   public List<Kingdom> getPointsClusters() {
-    
-    List<Kingdom> kingdoms = createKingdoms();
-    kingdoms = getOptimizedKingdoms(kingdoms);
-    
-    while (!isSame(kingdoms, getOptimizedKingdoms(kingdoms))) {
-      kingdoms = getOptimizedKingdoms(kingdoms);
+    int[] centers = getInitialCenters();
+    int[] assignment = new int[allCastles.size()];
+    Arrays.fill(assignment, -1);
+
+    for (int iteration = 0; iteration < maxIterations; iteration++) {
+      if (!assignCastles(centers, assignment)) {
+        break;
+      }
+      determineNewCenters(centers, assignment);
     }
-    
-    return kingdoms;
+
+    return createKingdoms(centers, assignment);
   }
-  
+
   /**
-   * Gibt true zurück, wenn es keinen Unterschied zwischen 
-   * den Listen von Königreichen gibt.
-   * @param kingdoms
-   * @param optimizedKingdoms
-   * @return
+   * Wählt die Zentren nach k-means++: Das erste Zentrum ist eine zufällige Burg, jedes weitere
+   * wird mit einer Wahrscheinlichkeit proportional zum quadrierten Abstand zum nächsten bereits
+   * gewählten Zentrum bestimmt. Die Zentren liegen dadurch von Anfang an gut verteilt.
+   *
+   * @return die Indizes der Burgen, die als Zentren gewählt wurden
    */
-  private boolean isSame(List<Kingdom> kingdoms, List<Kingdom> optimizedKingdoms) {
-    if (kingdoms.size() != optimizedKingdoms.size()) {
-      return false;
-    }
-    for (int i = 0; i < kingdoms.size(); i++) {
-      if (!kingdoms.get(i).isSame(optimizedKingdoms.get(i))) {
-        return false;
+  private int[] getInitialCenters() {
+    int count = allCastles.size();
+    int[] centers = new int[kingdomCount];
+    long[] minDist = new long[count];
+    Arrays.fill(minDist, Long.MAX_VALUE);
+
+    centers[0] = random.nextInt(count);
+    for (int k = 1; k < kingdomCount; k++) {
+      double total = 0;
+      for (int i = 0; i < count; i++) {
+        minDist[i] = Math.min(minDist[i], squaredDistance(i, centers[k - 1]));
+        total += minDist[i];
+      }
+
+      int next = -1;
+      if (total > 0) {
+        double target = random.nextDouble() * total;
+        for (int i = 0; i < count; i++) {
+          if (minDist[i] == 0) {
+            continue;
+          }
+          next = i;
+          target -= minDist[i];
+          if (target < 0) {
+            break;
+          }
+        }
+      } else {
+        // Alle Burgen liegen auf bereits gewählten Zentren
+        next = random.nextInt(count);
       }
+      centers[k] = next;
     }
-    return true;
+
+    return centers;
   }
 
   /**
-   * Fügt jede Burg zu dem Königreich hinzu, dessen Zentrum am nächsten ist.
-   * Dann werden die Zentren der Königreiche neu gesetzt, indem die Burg, die 
-   * am nächsten am Mittelpunkt des Königreichs liegt, als neues Zentrum 
-   * bestimmt wird. 
-   * @param kingdoms
-   * @return optimized 
+   * Ordnet jede Burg dem Königreich zu, dessen Zentrum am nächsten ist. Bei gleichem Abstand wird
+   * das Königreich mit dem kleineren Index gewählt. Jede Burg wird unabhängig von den anderen
+   * zugeordnet, daher ist das Ergebnis auch bei paralleler Ausführung immer gleich.
+   *
+   * @param centers die Indizes der Zentren
+   * @param assignment die bisherige Zuordnung, wird aktualisiert
+   * @return true, wenn sich die Zuordnung mindestens einer Burg geändert hat
    */
-  private List<Kingdom> getOptimizedKingdoms(List<Kingdom> kingdoms) {
-    List<Kingdom> optimized = kingdoms.stream().collect(Collectors.toList());
-    for (Kingdom kingdom : optimized) {
-      kingdom.clearCastles();
-    }
-    for (Castle castle : allCastles) {
-      castle.setKingdom(getClosestKingdom(castle, optimized));
+  private boolean assignCastles(int[] centers, int[] assignment) {
+    int changed = castleIndices().map(i -> {
+      int nearest = getClosestCenter(i, centers);
+      if (assignment[i] != nearest) {
+        assignment[i] = nearest;
+        return 1;
+      }
+      return 0;
+    }).sum();
+    return changed > 0;
+  }
+
+  /**
+   * Bestimmt für jedes Königreich die Burg, die am nächsten am Mittelpunkt aller seiner Burgen
+   * liegt, als neues Zentrum.
+   *
+   * Die Koordinaten werden als ganze Zahlen summiert und bei gleichem Abstand gewinnt die Burg mit
+   * dem kleineren Index, damit die Reihenfolge der parallelen Teilergebnisse keine Rolle spielt.
+   *
+   * @param centers die Indizes der Zentren, werden aktualisiert
+   * @param assignment die Zuordnung der Burgen
+   */
+  private void determineNewCenters(int[] centers, int[] assignment) {
+    // Je Königreich: Summe der x-Koordinaten, Summe der y-Koordinaten, Anzahl der Burgen
+    long[] sums = castleIndices().collect(() -> new long[3 * kingdomCount], (acc, i) -> {
+      int k = assignment[i];
+      acc[3 * k] += xs[i];
+      acc[3 * k + 1] += ys[i];
+      acc[3 * k + 2]++;
+    }, (a, b) -> {
+      for (int j = 0; j < a.length; j++) {
+        a[j] += b[j];
+      }
+    });
+
+    int[] meanX = new int[kingdomCount];
+    int[] meanY = new int[kingdomCount];
+    for (int k = 0; k < kingdomCount; k++) {
+      if (sums[3 * k + 2] > 0) {
+        meanX[k] = (int) ((double) sums[3 * k] / sums[3 * k + 2]);
+        meanY[k] = (int) ((double) sums[3 * k + 1] / sums[3 * k + 2]);
+      }
     }
-    
-    for (Kingdom kingdom : optimized) {
-      kingdom.determineNewCenter();
+
+    // Je Königreich: kleinster Abstand zum Mittelpunkt und Index der zugehörigen Burg
+    long[] best = castleIndices().collect(() -> {
+      long[] acc = new long[2 * kingdomCount];
+      for (int k = 0; k < kingdomCount; k++) {
+        acc[2 * k] = Long.MAX_VALUE;
+        acc[2 * k + 1] = -1;
+      }
+      return acc;
+    }, (acc, i) -> {
+      int k = assignment[i];
+      long dx = xs[i] - meanX[k];
+      long dy = ys[i] - meanY[k];
+      keepCloser(acc, k, dx * dx + dy * dy, i);
+    }, (a, b) -> {
+      for (int k = 0; k < kingdomCount; k++) {
+        keepCloser(a, k, b[2 * k], b[2 * k + 1]);
+      }
+    });
+
+    for (int k = 0; k < kingdomCount; k++) {
+      if (best[2 * k + 1] >= 0) {
+        centers[k] = (int) best[2 * k + 1];
+      }
     }
-    
-    return optimized;
   }
-  
-  private List<Castle> getArbitraryKingdomCenters() {
-    List<Castle> kingdomCenters = new ArrayList<>();
-    Castle randomCastle;
-    while (kingdomCenters.size() < kingdomCount) {
-      randomCastle = allCastles.get(random.nextInt(allCastles.size()));
-      if (!kingdomCenters.contains(randomCastle)) {
-        kingdomCenters.add(randomCastle);
-      }
+
+  private static void keepCloser(long[] acc, int kingdom, long dist, long castle) {
+    if (castle < 0) {
+      return;
     }
-    return kingdomCenters;
+    long bestDist = acc[2 * kingdom];
+    long bestCastle = acc[2 * kingdom + 1];
+    if (dist < bestDist || (dist == bestDist && (bestCastle < 0 || castle < bestCastle))) {
+      acc[2 * kingdom] = dist;
+      acc[2 * kingdom + 1] = castle;
+    }
+  }
+
+  /**
+   * Gibt die Indizes aller Burgen zurück, siehe {@link #setParallel(boolean)}
+   */
+  private IntStream castleIndices() {
+    IntStream indices = IntStream.range(0, allCastles.size());
+    return parallel ? indices.parallel() : indices;
   }
-  
+
   /**
-   * Erzeugt eine Liste von Königreichen und fügt jedem Königreich
-   * eine zufällig gewählte Burg als Zentrum hinzu.
+   * Erzeugt die Königreiche aus der berechneten Zuordnung. Jedes Königreich bekommt einen
+   * zufälligen Typ.
    */
-  private List<Kingdom> createKingdoms() {
-    List<Castle> kingdomCenters = getArbitraryKingdomCenters();
-    
+  private List<Kingdom> createKingdoms(int[] centers, int[] assignment) {
     List<Kingdom> kingdoms = new ArrayList<>();
-    for (int i = 0; i < kingdomCount; i++) {
-      Kingdom newKingdom = new Kingdom(random.nextInt(6));
-      newKingdom.setCenter(kingdomCenters.get(i));
-      kingdoms.add(newKingdom);
+    for (int k = 0; k < kingdomCount; k++) {
+      kingdoms.add(new Kingdom(random.nextInt(6)));
     }
-    
+
+    for (int i = 0; i < assignment.length; i++) {
+      allCastles.get(i).setKingdom(kingdoms.get(assignment[i]));
+    }
+    for (int k = 0; k < kingdomCount; k++) {
+      kingdoms.get(k).setCenter(allCastles.get(centers[k]));
+    }
+
     return kingdoms;
   }
 
   /**
-   * @param castle
-   * @return Königreich, das am nächsten zur gegeben Burg liegt
+   * @param castle Index der Burg
+   * @param centers die Indizes der Zentren
+   * @return Index des Königreichs, dessen Zentrum am nächsten zur gegebenen Burg liegt
    */
-  private Kingdom getClosestKingdom(Castle castle, List<Kingdom> kingdoms) {
-    Iterator<Kingdom> it = kingdoms.iterator();
-    if (kingdoms.isEmpty()) {
-      return null;
-    }
-    Kingdom nearest = it.next();
-    Kingdom current;
-    while (it.hasNext()) {
-      current = it.next();
-      if (current.getCenter().distance(castle) < nearest.getCenter().distance(castle)) {
-        nearest = current;
+  private int getClosestCenter(int castle, int[] centers) {
+    int nearest = 0;
+    long nearestDist = squaredDistance(castle, centers[0]);
+    for (int k = 1; k < centers.length; k++) {
+      long dist = squaredDistance(castle, centers[k]);
+      if (dist < nearestDist) {
+        nearest = k;
+        nearestDist = dist;
       }
     }
     return nearest;
   }
 
-}
\ No newline at end of file
+  private long squaredDistance(int a, int b) {
+    long dx = xs[a] - xs[b];
+    long dy = ys[a] - ys[b];
+    return dx * dx + dy * dy;
+  }
+
+}
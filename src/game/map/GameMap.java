@@ -3,13 +3,20 @@ package game.map;
 import base.*;
 import game.GameConstants;
 import gui.Resources;
-import javafx.util.Pair;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 
 /**
@@ -20,13 +27,33 @@ import java.util.stream.Collectors;
  */
 public class GameMap {
 
+    // Anzahl der Versuche für neue Punkte beim Poisson-Disk-Sampling
+    private static final int POISSON_CANDIDATES = 30;
+    private static final int POISSON_SEED_ATTEMPTS = 5;
+
+    // Reihenfolge entspricht den Indizes aus {@link #doubleToColorIndex(double)}
+    private static final Color[] TERRAIN_COLORS = {
+        GameConstants.COLOR_WATER,
+        GameConstants.COLOR_SAND,
+        GameConstants.COLOR_GRASS,
+        GameConstants.COLOR_STONE,
+        GameConstants.COLOR_SNOW
+    };
+
+    private static final IndexColorModel TERRAIN_COLOR_MODEL = createTerrainColorModel();
+
     private BufferedImage backgroundImage;
     private Graph<Castle> castleGraph;
     private List<Kingdom> kingdoms;
+    private long seed;
 
     // Map Generation
     private double[][] noiseValues;
+    private int noiseStep;
+    // Wird nur während der Generierung verwendet
+    private MapGenerationListener listener = MapGenerationListener.NONE;
     private int width, height, scale;
+    private int connectivityRepairs;
 
     /**
      * Erzeugt eine neue leere Karte. Der Konstruktor sollte niemals direkt aufgerufen werden.
@@ -34,48 +61,121 @@ public class GameMap {
      * @param width die Breite der Karte
      * @param height die Höhe der Karte
      * @param scale der Skalierungsfaktor
+     * @param seed der Startwert für alle Zufallsentscheidungen
      */
-    private GameMap(int width, int height, int scale) {
+    GameMap(int width, int height, int scale, long seed) {
         this.castleGraph = new Graph<>();
+        this.seed = seed;
         this.width = width;
         this.height = height;
         this.scale = scale;
     }
 
     /**
-     * Wandelt einen Noise-Wert in eine Farbe um. Die Methode kann nach belieben angepasst werden
+     * Erzeugt die Farbpalette für das Hintergrundbild aus den Geländefarben in {@link GameConstants}.
+     * Da es nur fünf Farben gibt, reichen 4 Bit pro Pixel aus.
+     * @return die Farbpalette
+     */
+    private static IndexColorModel createTerrainColorModel() {
+        byte[] r = new byte[TERRAIN_COLORS.length];
+        byte[] g = new byte[TERRAIN_COLORS.length];
+        byte[] b = new byte[TERRAIN_COLORS.length];
+        for (int i = 0; i < TERRAIN_COLORS.length; i++) {
+            r[i] = (byte) TERRAIN_COLORS[i].getRed();
+            g[i] = (byte) TERRAIN_COLORS[i].getGreen();
+            b[i] = (byte) TERRAIN_COLORS[i].getBlue();
+        }
+        return new IndexColorModel(4, TERRAIN_COLORS.length, r, g, b);
+    }
+
+    /**
+     * Erzeugt ein leeres Hintergrundbild mit der Farbpalette des Geländes
+     * @param width die Breite in Pixeln
+     * @param height die Höhe in Pixeln
+     * @return das leere Bild
+     */
+    static BufferedImage createTerrainImage(int width, int height) {
+        return new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY, TERRAIN_COLOR_MODEL);
+    }
+
+    /**
+     * Wandelt einen Noise-Wert in den Index einer Farbe aus {@link #TERRAIN_COLORS} um. Die Methode kann nach belieben angepasst werden
      * @param value der Perlin-Noise-Wert
-     * @return die resultierende Farbe
+     * @return der Index der resultierenden Farbe
      */
-    private Color doubleToColor(double value) {
+    private int doubleToColorIndex(double value) {
         if (value <= 0.40)
-            return GameConstants.COLOR_WATER;
+            return 0;
         else if (value <= 0.5)
-            return GameConstants.COLOR_SAND;
+            return 1;
         else if (value <= 0.7)
-            return GameConstants.COLOR_GRASS;
+            return 2;
         else if (value <= 0.8)
-            return GameConstants.COLOR_STONE;
+            return 3;
         else
-            return GameConstants.COLOR_SNOW;
+            return 4;
+    }
+
+    /**
+     * Gibt den Noise-Wert an der angegebenen Pixelposition zurück. Wurden die Noise-Werte nur auf einem groben Gitter
+     * berechnet (siehe {@link GenerationSettings.BackgroundMode#INTERPOLATED}), wird zwischen den Gitterpunkten bilinear interpoliert.
+     * @param x die x-Koordinate in Pixeln
+     * @param y die y-Koordinate in Pixeln
+     * @return der Noise-Wert
+     */
+    private double getNoiseValue(int x, int y) {
+        if (noiseStep == 1)
+            return noiseValues[x][y];
+
+        int realWidth = width * scale;
+        int realHeight = height * scale;
+        int i = Math.min(x / noiseStep, noiseValues.length - 2);
+        int j = Math.min(y / noiseStep, noiseValues[0].length - 2);
+        int x0 = i * noiseStep, x1 = Math.min(x0 + noiseStep, realWidth - 1);
+        int y0 = j * noiseStep, y1 = Math.min(y0 + noiseStep, realHeight - 1);
+        double tx = (double) (x - x0) / (x1 - x0);
+        double ty = (double) (y - y0) / (y1 - y0);
+
+        double top = noiseValues[i][j] + tx * (noiseValues[i + 1][j] - noiseValues[i][j]);
+        double bottom = noiseValues[i][j + 1] + tx * (noiseValues[i + 1][j + 1] - noiseValues[i][j + 1]);
+        return top + ty * (bottom - top);
     }
 
     /**
      * Hier wird das Hintergrund-Bild mittels Perlin-Noise erzeugt.
+     * Das Bild wird als 4-Bit-Palettenbild ({@link BufferedImage#TYPE_BYTE_BINARY}) gespeichert und belegt damit nur
+     * ein Achtel des Speichers eines RGB-Bildes.
+     * Im Modus {@link GenerationSettings.BackgroundMode#INTERPOLATED} wird Perlin-Noise nur auf einem groben Gitter berechnet,
+     * da das Gelände innerhalb eines Feldes ohnehin glatt verläuft. Ohne Hintergrundbild (siehe
+     * {@link GenerationSettings#setHeadless(boolean)}) wird nur dieses Gitter berechnet und kein Bild angelegt.
      * Siehe auch: {@link PerlinNoise}
+     * @param settings die Einstellungen für die Generierung
+     * @param random der Zufallsgenerator für die Gradienten
      */
-    private void generateBackground() {
-        PerlinNoise perlinNoise = new PerlinNoise(width, height, scale);
+    private void generateBackground(GenerationSettings settings, Random random) {
+        PerlinNoise perlinNoise = new PerlinNoise(width, height, scale, random);
         Dimension realSize = perlinNoise.getRealSize();
 
-        noiseValues = new double[realSize.width][realSize.height];
-        backgroundImage = new BufferedImage(realSize.width, realSize.height, BufferedImage.TYPE_INT_RGB);
-        for (int x = 0; x < realSize.width; x++) {
-            for (int y = 0; y < realSize.height; y++) {
-                double noiseValue = perlinNoise.getNoise(x, y);
-                noiseValues[x][y] = noiseValue;
-                backgroundImage.setRGB(x, y, doubleToColor(noiseValue).getRGB());
+        // Ohne Hintergrundbild reicht immer das grobe Gitter, es wird nur für die Platzierung der Burgen benötigt
+        boolean interpolated = settings.isHeadless() || settings.getBackgroundMode() == GenerationSettings.BackgroundMode.INTERPOLATED;
+        noiseStep = interpolated ? settings.getNoiseStep() : 1;
+        noiseValues = perlinNoise.getNoiseLattice(noiseStep);
+        if (settings.isHeadless())
+            return;
+
+        backgroundImage = createTerrainImage(realSize.width, realSize.height);
+        WritableRaster raster = backgroundImage.getRaster();
+        reportProgress(MapGenerationListener.Stage.BACKGROUND, 0.5);
+
+        int[] row = new int[realSize.width];
+        for (int y = 0; y < realSize.height; y++) {
+            for (int x = 0; x < realSize.width; x++) {
+                row[x] = doubleToColorIndex(getNoiseValue(x, y));
             }
+            raster.setSamples(0, y, realSize.width, 1, 0, row);
+
+            if (y % 64 == 0)
+                reportProgress(MapGenerationListener.Stage.BACKGROUND, 0.5 + 0.5 * y / realSize.height);
         }
     }
 
@@ -85,20 +185,21 @@ public class GameMap {
      * Sollte auf einem Feld keine Position für eine Burg existieren (z.B. aufgrund von Wasser oder angrenzenden Burgen), wird dieses übersprungen.
      * Dadurch kann es vorkommen, dass nicht alle Burgen generiert werden
      * @param castleCount die maximale Anzahl der zu generierenden Burgen
+     * @param settings die Einstellungen, legt das Verfahren fest, siehe {@link GenerationSettings.PlacementMode}
+     * @param random der Zufallsgenerator für die Auswahl der Felder und Namen
      */
-    private void generateCastles(int castleCount) {
-        double square = Math.ceil(Math.sqrt(castleCount));
-        double length = width + height;
+    private void generateCastles(int castleCount, GenerationSettings settings, Random random) {
+        if (settings.getPlacementMode() == GenerationSettings.PlacementMode.POISSON_DISK) {
+            generateCastlesPoissonDisk(castleCount, settings.getMinCastleDistance(), random);
+            return;
+        }
 
-        int tilesX = (int) Math.max(1, (width / length + 0.5) * square) + 5;
-        int tilesY = (int) Math.max(1, (height / length + 0.5) * square) + 5;
+        Dimension tiles = getTiles(castleCount);
+        int tilesX = tiles.width;
+        int tilesY = tiles.height;
         int tileW = (width * scale / tilesX);
         int tileH = (height * scale / tilesY);
 
-        if (tilesX * tilesY < castleCount) {
-            throw new IllegalArgumentException(String.format("CALCULATION Error: tilesX=%d * tilesY=%d < castles=%d", tilesX, tilesY, castleCount));
-        }
-
         // Add possible tiles
         List<Point> possibleFields = new ArrayList<>(tilesX * tilesY);
         for (int x = 0; x < tilesX - 1; x++) {
@@ -108,10 +209,10 @@ public class GameMap {
         }
 
         // Generate castles
-        List<String> possibleNames = generateCastleNames();
+        List<String> possibleNames = generateCastleNames(random);
         int castlesGenerated = 0;
         while (possibleFields.size() > 0 && castlesGenerated < castleCount) {
-            Point randomField = possibleFields.remove((int) (Math.random() * possibleFields.size()));
+            Point randomField = possibleFields.remove(random.nextInt(possibleFields.size()));
             int x0 = (int) ((randomField.x + 0.5) * tileW);
             int y0 = (int) ((randomField.y + 0.5) * tileH);
 
@@ -120,9 +221,9 @@ public class GameMap {
                 for (int y = (int) (0.5 * tileH); y >= 0; y--) {
                     int x_mid = (int) (x0 + x + 0.5 * tileW);
                     int y_mid = (int) (y0 + y + 0.5 * tileH);
-                    if (noiseValues[x_mid][y_mid] >= 0.6) {
+                    if (getNoiseValue(x_mid, y_mid) >= 0.6) {
                         String name = possibleNames.isEmpty() ? "Burg " + (castlesGenerated + 1) :
-                            possibleNames.get((int) (Math.random() * possibleNames.size()));
+                            possibleNames.get(random.nextInt(possibleNames.size()));
                         Castle newCastle = new Castle(new Point(x0 + x, y0 + y), name);
                         boolean doesIntersect = false;
 
@@ -149,48 +250,429 @@ public class GameMap {
         }
     }
 
+    /**
+     * Berechnet die Anzahl der Felder in x- und y-Richtung, in die die Karte für die Platzierung der Burgen unterteilt wird
+     * @param castleCount die maximale Anzahl der Burgen
+     * @return die Anzahl der Felder, als Breite in x- und als Höhe in y-Richtung
+     */
+    private Dimension getTiles(int castleCount) {
+        double square = Math.ceil(Math.sqrt(castleCount));
+        int tilesX = (int) Math.max(1, (width / (double) (width + height) + 0.5) * square) + 5;
+        int tilesY = (int) Math.max(1, (height / (double) (width + height) + 0.5) * square) + 5;
+
+        if (tilesX * tilesY < castleCount) {
+            throw new IllegalArgumentException(String.format("CALCULATION Error: tilesX=%d * tilesY=%d < castles=%d", tilesX, tilesY, castleCount));
+        }
+
+        return new Dimension(tilesX, tilesY);
+    }
+
+    /**
+     * Erzeugt die Burgen mit Poisson-Disk-Sampling nach Bridson.
+     * Zwei Burgen haben dabei immer mindestens den gleichen Abstand wie bei der Platzierung über Felder, sofern kein
+     * Mindestabstand vorgegeben ist (siehe {@link GenerationSettings#setMinCastleDistance(int)}). Die Karte wird
+     * mit einem Hilfsgitter überdeckt, dessen Zellen höchstens eine Burg enthalten können, sodass für jeden neuen Punkt
+     * nur die umliegenden Zellen geprüft werden müssen. Ausgehend von einem Startpunkt werden so lange Punkte im
+     * Mindestabstand um bereits platzierte Burgen versucht, bis keine weitere Burg mehr passt. Damit auch getrennte Inseln
+     * erreicht werden, wird jede noch freie Zelle einmal als Startpunkt versucht.
+     *
+     * Die Laufzeit ist linear in der Anzahl der Zellen. Passen mehr Burgen auf die Karte als gewünscht, wird eine
+     * zufällige Auswahl übernommen, sodass die gewünschte Anzahl immer erreicht wird, wenn das Gelände es zulässt.
+     * @param castleCount die maximale Anzahl der zu generierenden Burgen
+     * @param minDistance der Mindestabstand in Pixeln, bei 0 wird er wie bei der Platzierung über Felder bestimmt
+     * @param random der Zufallsgenerator für die Positionen und Namen
+     */
+    private void generateCastlesPoissonDisk(int castleCount, int minDistance, Random random) {
+        Dimension tiles = getTiles(castleCount);
+        int tileW = minDistance > 0 ? minDistance : width * scale / tiles.width;
+        int tileH = minDistance > 0 ? minDistance : height * scale / tiles.height;
+        int radius = Math.max(tileW, tileH);
+        double cellSize = radius / Math.sqrt(2);
+
+        // Bereich der möglichen Positionen, die Burg muss vollständig auf der Karte liegen
+        int maxX = width * scale - tileW;
+        int maxY = height * scale - tileH;
+        int gridW = (int) (maxX / cellSize) + 1;
+        int gridH = (int) (maxY / cellSize) + 1;
+        int[] grid = new int[gridW * gridH];
+        Arrays.fill(grid, -1);
+
+        List<Point> samples = new ArrayList<>();
+        List<Integer> active = new ArrayList<>();
+
+        int[] cells = new int[grid.length];
+        for (int i = 0; i < cells.length; i++)
+            cells[i] = i;
+        for (int i = cells.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = cells[i];
+            cells[i] = cells[j];
+            cells[j] = tmp;
+        }
+
+        for (int cell : cells) {
+            if (grid[cell] != -1)
+                continue;
+
+            // Startpunkt in der freien Zelle suchen
+            for (int attempt = 0; attempt < POISSON_SEED_ATTEMPTS; attempt++) {
+                int x = (int) Math.min(maxX, ((cell % gridW) + random.nextDouble()) * cellSize);
+                int y = (int) Math.min(maxY, ((cell / gridW) + random.nextDouble()) * cellSize);
+                if (isPlaceable(x, y, tileW, tileH) && isFarEnough(x, y, radius, cellSize, grid, gridW, gridH, samples)) {
+                    addSample(new Point(x, y), cellSize, grid, gridW, samples, active);
+                    break;
+                }
+            }
+
+            // Von den aktiven Punkten aus weitere Punkte knapp außerhalb des Mindestabstands suchen, die Kandidaten liegen
+            // gleichmäßig verteilt auf einem Kreis. Das ergibt eine dichtere Packung als zufällige Punkte im Ring.
+            while (!active.isEmpty()) {
+                int activeIndex = random.nextInt(active.size());
+                Point center = samples.get(active.get(activeIndex));
+                boolean found = false;
+
+                double startAngle = random.nextDouble() * 2 * Math.PI;
+                for (int attempt = 0; attempt < POISSON_CANDIDATES; attempt++) {
+                    double angle = startAngle + 2 * Math.PI * attempt / POISSON_CANDIDATES;
+                    int x = (int) Math.round(center.x + Math.cos(angle) * (radius + 1));
+                    int y = (int) Math.round(center.y + Math.sin(angle) * (radius + 1));
+                    if (x < 0 || y < 0 || x > maxX || y > maxY)
+                        continue;
+
+                    if (isPlaceable(x, y, tileW, tileH) && isFarEnough(x, y, radius, cellSize, grid, gridW, gridH, samples)) {
+                        addSample(new Point(x, y), cellSize, grid, gridW, samples, active);
+                        found = true;
+                        break;
+                    }
+                }
+
+                if (!found) {
+                    active.set(activeIndex, active.get(active.size() - 1));
+                    active.remove(active.size() - 1);
+                }
+            }
+        }
+
+        // Zufällige Auswahl, falls mehr Positionen gefunden wurden als benötigt
+        int count = Math.min(castleCount, samples.size());
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(samples.size() - i);
+            Point tmp = samples.get(i);
+            samples.set(i, samples.get(j));
+            samples.set(j, tmp);
+        }
+
+        List<String> possibleNames = generateCastleNames(random);
+        for (int i = 0; i < count; i++) {
+            String name = possibleNames.isEmpty() ? "Burg " + (i + 1) :
+                possibleNames.remove(random.nextInt(possibleNames.size()));
+            castleGraph.addNode(new Castle(samples.get(i), name));
+        }
+    }
+
+    /**
+     * Prüft, ob eine Burg an der angegebenen Position auf Land liegt. Wie bei der Platzierung über Felder wird dazu die
+     * Mitte des Feldes betrachtet.
+     */
+    private boolean isPlaceable(int x, int y, int tileW, int tileH) {
+        return getNoiseValue((int) (x + 0.5 * tileW), (int) (y + 0.5 * tileH)) >= 0.6;
+    }
+
+    /**
+     * Prüft über das Hilfsgitter, ob alle bereits platzierten Burgen mindestens radius von der Position entfernt sind
+     */
+    private static boolean isFarEnough(int x, int y, int radius, double cellSize, int[] grid, int gridW, int gridH, List<Point> samples) {
+        int cellX = (int) (x / cellSize);
+        int cellY = (int) (y / cellSize);
+        for (int i = Math.max(0, cellX - 2); i <= Math.min(gridW - 1, cellX + 2); i++) {
+            for (int j = Math.max(0, cellY - 2); j <= Math.min(gridH - 1, cellY + 2); j++) {
+                int index = grid[j * gridW + i];
+                if (index == -1)
+                    continue;
+
+                Point other = samples.get(index);
+                long dx = other.x - x, dy = other.y - y;
+                if (dx * dx + dy * dy < (long) radius * radius)
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addSample(Point point, double cellSize, int[] grid, int gridW, List<Point> samples, List<Integer> active) {
+        grid[(int) (point.y / cellSize) * gridW + (int) (point.x / cellSize)] = samples.size();
+        active.add(samples.size());
+        samples.add(point);
+    }
+
     /**
      * Hier werden die Kanten erzeugt. Dazu werden zunächst alle Burgen durch eine Linie verbunden und anschließend
      * jede Burg mit allen anderen in einem bestimmten Radius nochmals verbunden
+     * @param settings die Einstellungen, legt das Verfahren fest, siehe {@link GenerationSettings.EdgeMode}
      */
-    private void generateEdges() {
+    private void generateEdges(GenerationSettings settings) {
+        if (settings.getEdgeMode() == GenerationSettings.EdgeMode.DELAUNAY) {
+            generateDelaunayEdges();
+            return;
+        }
+
     	connectClosestEdges();
     	connectGroup(castleGraph);
     	removeSubs();
     }
+
+    /**
+     * Erzeugt die Kanten aus einer Delaunay-Triangulierung der Burgen in O(n log n).
+     * Die Triangulierung enthält nur kurze, lokale Verbindungen und ist immer zusammenhängend. Aus ihren Kanten wird
+     * der Graph nach den gleichen Regeln wie bei {@link #connectClosestEdges()} und {@link #removeSubs()} aufgebaut:
+     * <ul>
+     *     <li>Zunächst werden die Kanten eines minimalen Spannbaums übernommen, der Graph ist damit zusammenhängend</li>
+     *     <li>Burgen mit zu wenigen Verbindungen (vgl. {@link #getSub()}) erhalten ihre kürzeste weitere Kante der
+     *     Triangulierung, sofern es keinen kürzeren Umweg gibt (vgl. {@link #isThereABetterWay(Node, Node)})</li>
+     * </ul>
+     * Da der Graph bereits zusammenhängend ist, wird {@link #connectGroup(Graph)} nicht benötigt.
+     */
+    private void generateDelaunayEdges() {
+        List<Node<Castle>> nodes = castleGraph.getNodes();
+        int nodeCount = nodes.size();
+        double[] coords = new double[2 * nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            Point location = nodes.get(i).getValue().getLocationOnMap();
+            coords[2 * i] = location.x;
+            coords[2 * i + 1] = location.y;
+        }
+
+        int[] candidates = new Delaunay(coords).getEdges();
+        int edgeCount = candidates.length / 2;
+        double[] lengths = getEdgeLengths(candidates, coords);
+
+        // Kanten pro Burg: incident[offsets[i]] bis incident[offsets[i + 1] - 1]
+        int[] offsets = new int[nodeCount + 1];
+        for (int value : candidates)
+            offsets[value + 1]++;
+        for (int i = 0; i < nodeCount; i++)
+            offsets[i + 1] += offsets[i];
+        int[] incident = new int[candidates.length];
+        int[] fill = Arrays.copyOf(offsets, nodeCount);
+        for (int e = 0; e < edgeCount; e++) {
+            incident[fill[candidates[2 * e]]++] = e;
+            incident[fill[candidates[2 * e + 1]]++] = e;
+        }
+
+        // Minimaler Spannbaum nach Kruskal
+        int[] order = sortByLength(candidates, coords);
+
+        boolean[] selected = new boolean[edgeCount];
+        int[] parent = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++)
+            parent[i] = i;
+        for (int e : order) {
+            int rootA = findRoot(parent, candidates[2 * e]);
+            int rootB = findRoot(parent, candidates[2 * e + 1]);
+            if (rootA != rootB) {
+                parent[rootA] = rootB;
+                selected[e] = true;
+            }
+        }
+
+        int[] degree = new int[nodeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            if (selected[e]) {
+                degree[candidates[2 * e]]++;
+                degree[candidates[2 * e + 1]]++;
+            }
+        }
+
+        // Burgen mit zu wenigen Verbindungen erhalten ihre kürzeste weitere Kante ohne kürzeren Umweg, gibt es keine
+        // solche Kante, die kürzeste überhaupt. Da Grade nur wachsen, wird keine bereits behandelte Burg wieder zu
+        // einer solchen Burg.
+        for (int i = 0; i < nodeCount; i++) {
+            while (isSub(i, degree, candidates, selected, offsets, incident)) {
+                int best = -1;
+                int fallback = -1;
+                for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                    int e = incident[k];
+                    if (selected[e])
+                        continue;
+                    if (fallback == -1 || lengths[e] < lengths[fallback])
+                        fallback = e;
+                    if ((best == -1 || lengths[e] < lengths[best])
+                        && !hasShorterDetour(e, candidates, lengths, selected, offsets, incident))
+                        best = e;
+                }
+                if (best == -1)
+                    best = fallback;
+                if (best == -1)
+                    break;
+
+                selected[best] = true;
+                degree[candidates[2 * best]]++;
+                degree[candidates[2 * best + 1]]++;
+            }
+        }
+
+        for (int e = 0; e < edgeCount; e++) {
+            if (selected[e])
+                castleGraph.addEdge(nodes.get(candidates[2 * e]), nodes.get(candidates[2 * e + 1]));
+        }
+    }
+
+    /**
+     * Berechnet die Längen der Kanten
+     * @param edges die Kanten in der Form [a0, b0, a1, b1, ...], siehe {@link Delaunay#getEdges()}
+     * @param coords die Koordinaten der Knoten in der Form [x0, y0, x1, y1, ...]
+     * @return die Länge jeder Kante
+     */
+    private static double[] getEdgeLengths(int[] edges, double[] coords) {
+        double[] lengths = new double[edges.length / 2];
+        for (int e = 0; e < lengths.length; e++) {
+            int a = edges[2 * e], b = edges[2 * e + 1];
+            lengths[e] = Math.hypot(coords[2 * a] - coords[2 * b], coords[2 * a + 1] - coords[2 * b + 1]);
+        }
+        return lengths;
+    }
+
+    /**
+     * Sortiert die Kanten stabil aufsteigend nach ihrer Länge. Die Indizes werden mit einem Bottom-up-Mergesort
+     * direkt im int-Array sortiert, damit auch bei zehntausenden Kanten keine Integer-Objekte entstehen.
+     * @param edges die Kanten in der Form [a0, b0, a1, b1, ...], siehe {@link Delaunay#getEdges()}
+     * @param coords die Koordinaten der Knoten in der Form [x0, y0, x1, y1, ...]
+     * @return die Indizes der Kanten, kürzeste zuerst
+     */
+    private static int[] sortByLength(int[] edges, double[] coords) {
+        double[] lengths = getEdgeLengths(edges, coords);
+        int[] order = new int[lengths.length];
+        for (int e = 0; e < order.length; e++)
+            order[e] = e;
+
+        int[] buffer = new int[order.length];
+        for (int width = 1; width < order.length; width *= 2) {
+            for (int low = 0; low < order.length; low += 2 * width) {
+                int mid = Math.min(low + width, order.length);
+                int high = Math.min(low + 2 * width, order.length);
+                int i = low, j = mid, k = low;
+                // Bei gleicher Länge kommt die Kante aus der linken Hälfte zuerst, die Sortierung bleibt stabil
+                while (i < mid && j < high)
+                    buffer[k++] = lengths[order[j]] < lengths[order[i]] ? order[j++] : order[i++];
+                while (i < mid)
+                    buffer[k++] = order[i++];
+                while (j < high)
+                    buffer[k++] = order[j++];
+            }
+            int[] sorted = buffer;
+            buffer = order;
+            order = sorted;
+        }
+        return order;
+    }
+
+    private static int findRoot(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * Prüft, ob es zwischen den Endpunkten einer Kante der Triangulierung bereits einen Weg über einen gemeinsamen
+     * Nachbarn gibt, der kürzer als das 1.3-fache der Kante ist
+     */
+    private static boolean hasShorterDetour(int edge, int[] candidates, double[] lengths, boolean[] selected, int[] offsets, int[] incident) {
+        int a = candidates[2 * edge], b = candidates[2 * edge + 1];
+        for (int k = offsets[a]; k < offsets[a + 1]; k++) {
+            int viaA = incident[k];
+            if (!selected[viaA])
+                continue;
+            int c = candidates[2 * viaA] == a ? candidates[2 * viaA + 1] : candidates[2 * viaA];
+            if (c == b)
+                continue;
+
+            for (int l = offsets[b]; l < offsets[b + 1]; l++) {
+                int viaB = incident[l];
+                if (!selected[viaB])
+                    continue;
+                int other = candidates[2 * viaB] == b ? candidates[2 * viaB + 1] : candidates[2 * viaB];
+                if (other == c && lengths[viaA] + lengths[viaB] < lengths[edge] * 1.3)
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Entspricht {@link #getSub()} für eine einzelne Burg der Triangulierung
+     */
+    private static boolean isSub(int i, int[] degree, int[] candidates, boolean[] selected, int[] offsets, int[] incident) {
+        if (degree[i] < 2)
+            return true;
+        if (degree[i] >= 3)
+            return false;
+
+        for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+            int e = incident[k];
+            if (!selected[e])
+                continue;
+            int neighbor = candidates[2 * e] == i ? candidates[2 * e + 1] : candidates[2 * e];
+            if (degree[neighbor] < 3)
+                return true;
+        }
+        return false;
+    }
     
     /**
-     * makes all nodes reachable from any node
+     * makes all nodes reachable from any node.
+     * The groups are labeled with a union-find structure. Then the shortest edges of a Delaunay triangulation of all
+     * nodes that join two different groups are added (Kruskal). The shortest edge between a group and the rest of the
+     * graph is always part of the triangulation, so these are the same closest pairs a comparison of every node of
+     * every group would find, in O(n log n).
      * @param graph graph
+     * @return number of edges added
      */
-    public static void connectGroup(Graph<Castle> graph) {
-    	// initialized by getting list of all groups
-    	List<List<Node<Castle>>> allGroups = GameMap.getAllGroups(graph);
-    	// memory array that saves edges already created
-    	boolean[][] alreadyConnected = new boolean[allGroups.size()][allGroups.size()];
-    	if(allGroups.size() < 2);
-    	else {
-    		for(int i = 0; i < allGroups.size(); i++) {
-    			Pair<Double, Pair<Node<Castle>, Node<Castle>>> closestGroup = new Pair<Double, Pair<Node<Castle>, Node<Castle>>>(Double.MAX_VALUE, null);
-    			List<Node<Castle>> group1 = allGroups.get(i);
-    			int closestGroupNum = -1;
-    			for(int o = 0; o < allGroups.size(); o++) {
-    				if(i == o | alreadyConnected[i][o]) continue;
-    				List<Node<Castle>> group2 = allGroups.get(o);
-    				Pair<Double, Pair<Node<Castle>, Node<Castle>>> dist = groupDist(group1, group2);
-    				if(dist.getKey() < closestGroup.getKey()) {
-    					closestGroup = dist;
-    					closestGroupNum = o;
-    				}
+    public static int connectGroup(Graph<Castle> graph) {
+    	List<Node<Castle>> nodes = graph.getNodes();
+    	Map<Node<Castle>, Integer> index = new HashMap<>();
+    	int[] parent = new int[nodes.size()];
+    	for(int i = 0; i < nodes.size(); i++) {
+    		index.put(nodes.get(i), i);
+    		parent[i] = i;
+    	}
+
+    	int groups = nodes.size();
+    	for(Edge<Castle> edge : graph.getEdges()) {
+    		int rootA = findRoot(parent, index.get(edge.getNodeA()));
+    		int rootB = findRoot(parent, index.get(edge.getNodeB()));
+    		if(rootA != rootB) {
+    			parent[rootA] = rootB;
+    			groups--;
+    		}
+    	}
+    	if(groups < 2) {
+    		return 0;
+    	}
+
+    	double[] coords = new double[2 * nodes.size()];
+    	for(int i = 0; i < nodes.size(); i++) {
+    		Point location = nodes.get(i).getValue().getLocationOnMap();
+    		coords[2 * i] = location.x;
+    		coords[2 * i + 1] = location.y;
+    	}
+    	int[] candidates = new Delaunay(coords).getEdges();
+    	int[] order = sortByLength(candidates, coords);
+
+    	int added = 0;
+    	for(int e : order) {
+    		int rootA = findRoot(parent, candidates[2 * e]);
+    		int rootB = findRoot(parent, candidates[2 * e + 1]);
+    		if(rootA != rootB) {
+    			parent[rootA] = rootB;
+    			graph.addEdge(nodes.get(candidates[2 * e]), nodes.get(candidates[2 * e + 1]));
+    			if(++added == groups - 1) {
+    				break;
     			}
-    			Pair<Node<Castle>, Node<Castle>> closestNodes = closestGroup.getValue();
-    			if(closestNodes != null)
-    				graph.addEdge(closestNodes.getKey(), closestNodes.getValue());
-    			if(closestGroupNum > -1)
-    				alreadyConnected[closestGroupNum][i] = true;
     		}
-    		connectGroup(graph);
     	}
+    	return added;
     }
     
     /**
@@ -212,9 +694,22 @@ public class GameMap {
      * searches for the closest node with no edge between given node
      * @param current node that should be connected
      * @param alreadyConnected list of nodes that are already connected to given node
+     * @return the node the new edge leads to or null if no edge was added
      */
-    public void connectClosestEdge(Node<Castle> current, List<Edge<Castle>> alreadyConnected, boolean removeLeafs) {
-    	List<Node<Castle>> listOfNearbyNodes = getNodesByDist(current);
+    public Node<Castle> connectClosestEdge(Node<Castle> current, List<Edge<Castle>> alreadyConnected, boolean removeLeafs) {
+    	return connectClosestEdge(current, getNodesByDist(current), alreadyConnected, removeLeafs);
+    }
+    
+    
+    /**
+     * same as {@link #connectClosestEdge(Node, List, boolean)} with the nodes already sorted by their distance,
+     * so the list can be reused for several edges of the same node
+     * @param current node that should be connected
+     * @param listOfNearbyNodes the other nodes sorted by distance, see {@link #getNodesByDist(Node)}
+     * @param alreadyConnected list of nodes that are already connected to given node
+     * @return the node the new edge leads to or null if no edge was added
+     */
+    private Node<Castle> connectClosestEdge(Node<Castle> current, List<Node<Castle>> listOfNearbyNodes, List<Edge<Castle>> alreadyConnected, boolean removeLeafs) {
 		for(int i = 0; i < listOfNearbyNodes.size();i++) {
 			Node<Castle> nearbyCastle = listOfNearbyNodes.get(i);
 			boolean ac = false;
@@ -225,30 +720,23 @@ public class GameMap {
 			}
 			if(!ac && (!isThereABetterWay(current, nearbyCastle) || !removeLeafs)) {
 				castleGraph.addEdge(current, nearbyCastle);
-				break;
+				return nearbyCastle;
 			}
 		}
+		return null;
     }
     
     
     /**
-     * returns a list of nodes sorted by closest distance
+     * returns a list of nodes sorted by closest distance. Nodes with the same distance keep their order in the graph,
+     * so the result is the same as repeatedly calling {@link #getClosestNode(Node, List)}
      * @param castle castle that given list should be sorted by
      * @return list of nodes sorted by closest distance
      */
     public List<Node<Castle>> getNodesByDist(Node<Castle> castle){
-    	List<Node<Castle>> sortedList = new ArrayList<Node<Castle>>();
-    	List<Node<Castle>> blacklist = new ArrayList<Node<Castle>>();
-    	blacklist.add(castle);
-    	int end = castleGraph.getNodes().size();
-    	while(sortedList.size() != end) {
-    		Node<Castle> closest = getClosestNode(castle, blacklist);
-    		if(closest == null) {
-    			break;
-    		}
-    		sortedList.add(closest);
-    		blacklist.add(closest);
-    	}
+    	List<Node<Castle>> sortedList = new ArrayList<Node<Castle>>(castleGraph.getNodes());
+    	sortedList.remove(castle);
+    	sortedList.sort(Comparator.comparingDouble(node -> castle.getValue().distance(node.getValue())));
     	return sortedList;
     }
     
@@ -315,7 +803,7 @@ public class GameMap {
             if(castleGraph.getEdges(node).size() < 2){
                return node;
             }else if(castleGraph.getEdges(node).size() < 3) {
-            	for(Node<Castle> neighbor : getNeighbors(node, castleGraph)) {
+            	for(Node<Castle> neighbor : castleGraph.getNeighbors(node)) {
             		if(castleGraph.getEdges(neighbor).size() < 3) {
             			return node;
             		}
@@ -327,30 +815,59 @@ public class GameMap {
     
     
     /**
-     * removes "subs" by connecting them to another node
+     * removes "subs" by connecting them to another node.
+     * Adding edges never turns a node into a sub again, so the nodes are checked once in the same order as
+     * {@link #getSub()} would find them. The degrees are counted once and updated for every new edge instead of
+     * scanning all edges for every check, and the other nodes are sorted by distance only once per sub.
      */
     public void removeSubs() {
-    	Node<Castle> leaf = getSub();
-    	while(leaf != null) {
-        	List<Edge<Castle>> alreadyConnected = castleGraph.getEdges(leaf);
-    		connectClosestEdge(leaf, alreadyConnected, true);
-    		leaf = getSub();
+    	List<Node<Castle>> nodes = castleGraph.getNodes();
+    	Map<Node<Castle>, Integer> degree = new HashMap<>();
+    	for(Node<Castle> node : nodes) {
+    		degree.put(node, 0);
+    	}
+    	for(Edge<Castle> edge : castleGraph.getEdges()) {
+    		degree.merge(edge.getNodeA(), 1, Integer::sum);
+    		degree.merge(edge.getNodeB(), 1, Integer::sum);
+    	}
+
+    	for(Node<Castle> leaf : nodes) {
+    		List<Node<Castle>> nearbyNodes = null;
+    		while(isSub(leaf, degree)) {
+    			if(nearbyNodes == null) {
+    				nearbyNodes = getNodesByDist(leaf);
+    			}
+    			List<Edge<Castle>> alreadyConnected = castleGraph.getEdges(leaf);
+    			Node<Castle> other = connectClosestEdge(leaf, nearbyNodes, alreadyConnected, true);
+    			if(other == null) {
+    				// every other node has a better way, connect to the closest one anyway
+    				other = connectClosestEdge(leaf, nearbyNodes, alreadyConnected, false);
+    			}
+    			if(other == null) {
+    				// already connected to every other node
+    				break;
+    			}
+    			degree.merge(leaf, 1, Integer::sum);
+    			degree.merge(other, 1, Integer::sum);
+    		}
     	}
     }
     
     
-    public boolean isThereABetterWay(Node<Castle> start, Node<Castle> dest) {
-    	Castle startingCastle = start.getValue();
-    	Castle destCastle = dest.getValue();
-    	for(Node<Castle> neighbor : getNeighbors(start, this.castleGraph)) {
-    		Castle neighborCastle = neighbor.getValue();
-    		for(Node<Castle> neighborOfNeighbor : getNeighbors(neighbor, this.castleGraph)) {
-    			if(neighborOfNeighbor == dest) {
-    				if(startingCastle.distance(neighborCastle) 
-    						+ destCastle.distance(neighborCastle) 
-    						< startingCastle.distance(destCastle) *  1.3) {
-    					return true;
-    				}
+    /**
+     * same check as {@link #getSub()} for a single node using the given degrees
+     * @param node node to check
+     * @param degree number of edges of every node
+     * @return true if the node has less than 2 edges or 2 edges and a neighbor with less than 3 edges
+     */
+    private boolean isSub(Node<Castle> node, Map<Node<Castle>, Integer> degree) {
+    	int nodeDegree = degree.get(node);
+    	if(nodeDegree < 2) {
+    		return true;
+    	}else if(nodeDegree < 3) {
+    		for(Node<Castle> neighbor : castleGraph.getNeighbors(node)) {
+    			if(degree.get(neighbor) < 3) {
+    				return true;
     			}
     		}
     	}
@@ -358,26 +875,31 @@ public class GameMap {
     }
     
     
-    
     /**
-     * calculates the distance between two groups of castles
-     * @param group1
-     * @param group2
-     * @return a Pair storing distance information and node information
-     */
-    public static Pair<Double, Pair<Node<Castle>, Node<Castle>>> groupDist(List<Node<Castle>> group1, List<Node<Castle>> group2) {
-    	Pair<Double, Pair<Node<Castle>, Node<Castle>>> closestRange = new Pair<Double, Pair<Node<Castle>, Node<Castle>>>(Double.MAX_VALUE , null);
-    	for(Node<Castle> node1 : group1) {
-    		for(Node<Castle> node2 : group2) {
-    			Double dist = node1.getValue().distance(node2.getValue());
-    			if(dist.compareTo(closestRange.getKey()) < 0) {
-    				closestRange = new Pair<Double, Pair<Node<Castle>, Node<Castle>>>(dist, new Pair(node1, node2));
+     * checks whether start and dest are already connected over a common neighbor by a way that is shorter than
+     * 1.3 times the direct distance. Only the edges of start and of each neighbor are looked at.
+     * @param start first node
+     * @param dest second node
+     * @return true if there is a shorter detour
+     */
+    public boolean isThereABetterWay(Node<Castle> start, Node<Castle> dest) {
+    	Castle startingCastle = start.getValue();
+    	Castle destCastle = dest.getValue();
+    	for(Node<Castle> neighbor : castleGraph.getNeighbors(start)) {
+    		Castle neighborCastle = neighbor.getValue();
+    		if(castleGraph.getEdge(neighbor, dest) != null) {
+    			if(startingCastle.distance(neighborCastle) 
+    					+ destCastle.distance(neighborCastle) 
+    					< startingCastle.distance(destCastle) *  1.3) {
+    				return true;
     			}
     		}
     	}
-    	return closestRange;
+    	return false;
     }
     
+    
+    
     /**
      * divides connected castles into groups
      */
@@ -404,7 +926,7 @@ public class GameMap {
     public static <T> List<Node<T>> getGroup(Node<T> n, Graph<T> graph, List<Node<T>> collector){
     	if(collector == null) collector = new ArrayList<Node<T>>();
     	if(!collector.contains(n)) collector.add(n);
-    	for(Node<T> node : getNeighbors(n, graph)) {
+    	for(Node<T> node : graph.getNeighbors(n)) {
     		if(!collector.contains(node))
     			getGroup(node, graph, collector);
     	}
@@ -413,38 +935,48 @@ public class GameMap {
     
     
     /**
-     * returns all neighbours of a Node in a Graph
+     * returns all neighbours of a Node in a Graph.
+     * The neighbours are read from the adjacency index of the graph in the order their edges were added,
+     * see {@link Graph#getNeighbors(Node)}
      * @param n node
      * @param graph graph
      * @return list of neighbors of the node in the graph
      */
     public static <T> List<Node<T>> getNeighbors(Node<T> n, Graph<T> graph){
-    	List<Edge<T>> edges = graph.getEdges();
-    	List<Node<T>> chain = new ArrayList<>();
-    	for(Edge<T> edge : edges) {
-    		if(edge.getNodeA().equals(n)) {
-    			chain.add(edge.getNodeB());
-    		}else if(edge.getNodeB().equals(n)) {
-    			chain.add(edge.getNodeA());
-    		}
-    	}
-    	return chain;
+    	return graph.getNeighbors(n);
     }
 
     
     /**
      * Hier werden die Burgen in Königreiche unterteilt. Dazu wird der {@link Clustering} Algorithmus aufgerufen.
      * @param kingdomCount die Anzahl der zu generierenden Königreiche
+     * @param settings die Einstellungen, legt die maximale Anzahl an Iterationen fest
+     * @param random der Zufallsgenerator für das Clustering
      */
-    private void generateKingdoms(int kingdomCount) {
+    private void generateKingdoms(int kingdomCount, GenerationSettings settings, Random random) {
         if(kingdomCount > 0 && kingdomCount < castleGraph.getAllValues().size()) {
-            Clustering clustering = new Clustering(castleGraph.getAllValues(), kingdomCount);
+            Clustering clustering = new Clustering(castleGraph.getAllValues(), kingdomCount, random);
+            clustering.setMaxIterations(settings.getKingdomIterations());
             kingdoms = clustering.getPointsClusters();
         } else {
             kingdoms = new ArrayList<>();
         }
     }
 
+    /**
+     * Eine neue Spielfeldkarte mit den Standardeinstellungen generieren.
+     * @param width die Breite des Spielfelds
+     * @param height die Höhe des Spielfelds
+     * @param scale die Skalierung
+     * @param castleCount die maximale Anzahl an Burgen
+     * @param kingdomCount die Anzahl der Königreiche
+     * @return eine neue GameMap-Instanz
+     * @see #generateRandomMap(int, int, int, int, int, GenerationSettings)
+     */
+    public static GameMap generateRandomMap(int width, int height, int scale, int castleCount, int kingdomCount) {
+        return generateRandomMap(width, height, scale, castleCount, kingdomCount, new GenerationSettings());
+    }
+
     /**
      * Eine neue Spielfeldkarte generieren.
      * Dazu werden folgende Schritte abgearbeitet:
@@ -452,14 +984,20 @@ public class GameMap {
      *   2. Burgen generieren
      *   3. Kanten hinzufügen
      *   4. Burgen in Köngireiche unterteilen
+     *   5. Prüfen, ob alle Burgen erreichbar sind, und sonst die fehlenden Kanten ergänzen
+     * Alle Zufallsentscheidungen werden aus dem Startwert {@link GenerationSettings#getSeed()} abgeleitet. Jeder Schritt
+     * erhält einen eigenen Zufallsgenerator, damit sich die Schritte nicht gegenseitig beeinflussen.
+     * Ist ein Startwert und ein {@link MapCache} gesetzt, wird die Karte nach Möglichkeit aus dem Cache geladen und
+     * nach der Generierung dort abgelegt.
      * @param width die Breite des Spielfelds
      * @param height die Höhe des Spielfelds
      * @param scale die Skalierung
      * @param castleCount die maximale Anzahl an Burgen
      * @param kingdomCount die Anzahl der Königreiche
+     * @param settings weitere Einstellungen für die Generierung
      * @return eine neue GameMap-Instanz
      */
-    public static GameMap generateRandomMap(int width, int height, int scale, int castleCount, int kingdomCount) {
+    public static GameMap generateRandomMap(int width, int height, int scale, int castleCount, int kingdomCount, GenerationSettings settings) {
 
         width = Math.max(width, 15);
         height = Math.max(height, 10);
@@ -467,51 +1005,202 @@ public class GameMap {
         if (scale <= 0 || castleCount <= 0)
             throw new IllegalArgumentException();
 
-        System.out.println(String.format("Generating new map, castles=%d, width=%d, height=%d, kingdoms=%d", castleCount, width, height, kingdomCount));
-        GameMap gameMap = new GameMap(width, height, scale);
-        gameMap.generateBackground();
-        gameMap.generateCastles(castleCount);
-        gameMap.generateEdges();
-        gameMap.generateKingdoms(kingdomCount);
-
-        if(!gameMap.getGraph().allNodesConnected()) {
-            System.out.println("Fehler bei der Verifikation: Es sind nicht alle Knoten miteinander verbunden!");
-            return null;
+        MapCache cache = settings.getSeed() != null ? settings.getCache() : null;
+        String cacheKey = null;
+        if (cache != null) {
+            cacheKey = MapCache.createKey(width, height, scale, castleCount, kingdomCount, settings);
+            GameMap cachedMap = cache.load(cacheKey);
+            if (cachedMap != null) {
+                settings.getListener().progress(1);
+                return cachedMap;
+            }
         }
 
+        long seed = settings.getSeed() != null ? settings.getSeed() : new Random().nextLong();
+        Random random = new Random(seed);
+        Random backgroundRandom = new Random(random.nextLong());
+        Random castleRandom = new Random(random.nextLong());
+        Random kingdomRandom = new Random(random.nextLong());
+
+        // Ohne Oberfläche, etwa in Simulationen mit tausenden Karten, wird nichts ausgegeben
+        if (!settings.isHeadless())
+            System.out.println(String.format("Generating new map, castles=%d, width=%d, height=%d, kingdoms=%d, seed=%d", castleCount, width, height, kingdomCount, seed));
+        GameMap gameMap = new GameMap(width, height, scale, seed);
+        gameMap.listener = settings.getListener();
+
+        gameMap.runStage(MapGenerationListener.Stage.BACKGROUND, () -> {
+            gameMap.generateBackground(settings, backgroundRandom);
+            return gameMap.isHeadless() ? 0 : gameMap.getWidth() * gameMap.getHeight();
+        });
+        gameMap.runStage(MapGenerationListener.Stage.CASTLES, () -> {
+            gameMap.generateCastles(castleCount, settings, castleRandom);
+            return gameMap.castleGraph.getNodes().size();
+        });
+        gameMap.runStage(MapGenerationListener.Stage.EDGES, () -> {
+            gameMap.generateEdges(settings);
+            return gameMap.castleGraph.getEdges().size();
+        });
+        gameMap.runStage(MapGenerationListener.Stage.KINGDOMS, () -> {
+            gameMap.generateKingdoms(kingdomCount, settings, kingdomRandom);
+            return gameMap.kingdoms.size();
+        });
+
+        // Die Noise-Werte werden nur für die Generierung benötigt
+        gameMap.noiseValues = null;
+
+        gameMap.runStage(MapGenerationListener.Stage.VERIFICATION, gameMap::repairConnectivity);
+        gameMap.listener = MapGenerationListener.NONE;
+
+        if (gameMap.connectivityRepairs > 0 && !settings.isHeadless())
+            System.out.println(String.format("Verifikation: %d Kanten ergänzt, damit alle Burgen erreichbar sind", gameMap.connectivityRepairs));
+
+        if (cache != null)
+            cache.store(cacheKey, gameMap);
+
         return gameMap;
     }
 
+    /**
+     * Prüft, ob alle Burgen erreichbar sind. Ist das nicht der Fall, werden die Teilgraphen mit den kürzesten möglichen
+     * Kanten verbunden (siehe {@link #connectGroup(Graph)}), statt die Karte zu verwerfen.
+     * @return die Anzahl der ergänzten Kanten
+     */
+    private int repairConnectivity() {
+        connectivityRepairs = castleGraph.allNodesConnected() ? 0 : connectGroup(castleGraph);
+        return connectivityRepairs;
+    }
+
+    /**
+     * Führt einen Schritt der Generierung aus und meldet Laufzeit, allokierten Speicher und Anzahl der erzeugten
+     * Elemente an den Listener
+     * @param stage der Schritt
+     * @param step führt den Schritt aus und gibt die Anzahl der erzeugten Elemente zurück
+     * @return die Anzahl der erzeugten Elemente
+     */
+    private int runStage(MapGenerationListener.Stage stage, IntSupplier step) {
+        listener.stageStarted(stage);
+        reportProgress(stage, 0);
+
+        long allocatedBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+        int items = step.getAsInt();
+        long nanos = System.nanoTime() - start;
+        long allocatedAfter = getAllocatedBytes();
+
+        listener.stageFinished(stage, nanos, allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore, items);
+        reportProgress(stage, 1);
+        return items;
+    }
+
+    /**
+     * Meldet den Fortschritt innerhalb eines Schritts als Gesamtfortschritt an den Listener
+     * @param stage der aktuelle Schritt
+     * @param fraction der Fortschritt innerhalb des Schritts zwischen 0 und 1
+     */
+    private void reportProgress(MapGenerationListener.Stage stage, double fraction) {
+        listener.progress(Math.min(1, stage.getStart() + fraction * stage.getWeight()));
+    }
+
+    /**
+     * @return der bisher auf dem aktuellen Thread allokierte Speicher in Byte oder -1, falls die JVM dies nicht unterstützt
+     */
+    private static long getAllocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled())
+                return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
     /**
      * Generiert eine Liste von Zufallsnamen für Burgen. Dabei wird ein Prefix (Schloss, Burg oder Festung) an einen
      * vorhandenen Namen aus den Resourcen angefügt. Siehe auch: {@link Resources#getcastleNames()}
+     * @param random der Zufallsgenerator für die Prefixe
      * @return eine Liste mit Zufallsnamen
      */
-    private List<String> generateCastleNames() {
+    private List<String> generateCastleNames(Random random) {
         String[] prefixes = {"Schloss", "Burg", "Festung"};
         List<String> names = Resources.getInstance().getCastleNames();
         List<String> nameList = new ArrayList<>(names.size());
 
         for (String name : names) {
-            String prefix = prefixes[(int) (Math.random() * prefixes.length)];
+            String prefix = prefixes[random.nextInt(prefixes.length)];
             nameList.add(prefix + " " + name);
         }
 
         return nameList;
     }
 
+    /**
+     * Gibt den Startwert zurück, mit dem die Karte generiert wurde
+     * @return der Startwert
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Gibt zurück, wie viele Kanten bei der Verifikation ergänzt wurden, damit alle Burgen erreichbar sind.
+     * Für Karten aus dem {@link MapCache} ist der Wert immer 0, sie sind bereits repariert gespeichert.
+     * @return die Anzahl der ergänzten Kanten
+     */
+    public int getConnectivityRepairs() {
+        return this.connectivityRepairs;
+    }
+
+    /**
+     * Gibt die Breite des Spielfelds in Feldern zurück, siehe auch {@link #getWidth()} für die Breite in Pixeln
+     * @return die Breite in Feldern
+     */
+    int getGridWidth() {
+        return this.width;
+    }
+
+    /**
+     * Gibt die Höhe des Spielfelds in Feldern zurück, siehe auch {@link #getHeight()} für die Höhe in Pixeln
+     * @return die Höhe in Feldern
+     */
+    int getGridHeight() {
+        return this.height;
+    }
+
+    int getScale() {
+        return this.scale;
+    }
+
+    void setBackgroundImage(BufferedImage backgroundImage) {
+        this.backgroundImage = backgroundImage;
+    }
+
+    void setKingdoms(List<Kingdom> kingdoms) {
+        this.kingdoms = kingdoms;
+    }
+
     public int getWidth() {
-        return this.backgroundImage.getWidth();
+        return this.width * this.scale;
     }
 
     public int getHeight() {
-        return this.backgroundImage.getHeight();
+        return this.height * this.scale;
     }
 
+    /**
+     * @return das Hintergrundbild oder null, falls die Karte ohne Hintergrund generiert wurde, siehe {@link #isHeadless()}
+     */
     public BufferedImage getBackgroundImage() {
         return this.backgroundImage;
     }
 
+    /**
+     * Gibt an, ob die Karte ohne Hintergrundbild generiert wurde, siehe {@link GenerationSettings#setHeadless(boolean)}
+     * @return true, wenn die Karte kein Hintergrundbild hat
+     */
+    public boolean isHeadless() {
+        return this.backgroundImage == null;
+    }
+
     public Dimension getSize() {
         return new Dimension(this.getWidth(), this.getHeight());
     }
@@ -520,6 +1209,14 @@ public class GameMap {
         return castleGraph.getAllValues();
     }
 
+    /**
+     * Gibt die Anzahl der Burgen in O(1) zurück, ohne wie {@link #getCastles()} eine neue Liste zu erzeugen
+     * @return die Anzahl der Burgen
+     */
+    public int getCastleCount() {
+        return castleGraph.getNodes().size();
+    }
+
     public Graph<Castle> getGraph() {
         return this.castleGraph;
     }
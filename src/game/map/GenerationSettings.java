@@ -0,0 +1,187 @@
+package game.map;
+
+/**
+ * Diese Klasse fasst die optionalen Einstellungen für die Generierung einer Karte zusammen.
+ * Ein neues Objekt enthält die Standardwerte, die auch {@link GameMap#generateRandomMap(int, int, int, int, int)} verwendet.
+ */
+public class GenerationSettings {
+
+    /**
+     * Gibt an, wie die Noise-Werte für das Hintergrundbild berechnet werden
+     */
+    public enum BackgroundMode {
+        // Perlin-Noise wird für jeden Pixel berechnet
+        EXACT,
+        // Perlin-Noise wird nur auf einem groben Gitter berechnet und dazwischen bilinear interpoliert
+        INTERPOLATED
+    }
+
+    /**
+     * Gibt an, wie die Kanten zwischen den Burgen erzeugt werden
+     */
+    public enum EdgeMode {
+        // Jede Burg wird mit ihren nächsten Burgen verbunden, Laufzeit wächst etwa kubisch mit der Anzahl der Burgen
+        CLOSEST,
+        // Die Kanten werden aus einer ausgedünnten Delaunay-Triangulierung erzeugt, Laufzeit O(n log n)
+        DELAUNAY
+    }
+
+    /**
+     * Gibt an, wie die Positionen der Burgen gewählt werden
+     */
+    public enum PlacementMode {
+        // Die Karte wird in Felder unterteilt, Felder ohne passende Position werden übersprungen
+        TILES,
+        // Poisson-Disk-Sampling mit festem Mindestabstand, erreicht die gewünschte Anzahl, wenn das Gelände es zulässt
+        POISSON_DISK
+    }
+
+    private BackgroundMode backgroundMode;
+    private EdgeMode edgeMode;
+    private PlacementMode placementMode;
+    private int kingdomIterations;
+    private int noiseStep;
+    private int minCastleDistance;
+    private boolean headless;
+    private Long seed;
+    private MapCache cache;
+    private MapGenerationListener listener;
+
+    /**
+     * Erzeugt neue Einstellungen mit den Standardwerten
+     */
+    public GenerationSettings() {
+        this.backgroundMode = BackgroundMode.EXACT;
+        this.edgeMode = EdgeMode.CLOSEST;
+        this.placementMode = PlacementMode.TILES;
+        this.kingdomIterations = Clustering.DEFAULT_MAX_ITERATIONS;
+        this.listener = MapGenerationListener.NONE;
+        this.noiseStep = 8;
+    }
+
+    public BackgroundMode getBackgroundMode() {
+        return this.backgroundMode;
+    }
+
+    public void setBackgroundMode(BackgroundMode backgroundMode) {
+        this.backgroundMode = backgroundMode;
+    }
+
+    public EdgeMode getEdgeMode() {
+        return this.edgeMode;
+    }
+
+    public void setEdgeMode(EdgeMode edgeMode) {
+        this.edgeMode = edgeMode;
+    }
+
+    public PlacementMode getPlacementMode() {
+        return this.placementMode;
+    }
+
+    public void setPlacementMode(PlacementMode placementMode) {
+        this.placementMode = placementMode;
+    }
+
+    /**
+     * Gibt die maximale Anzahl an Iterationen für die Aufteilung in Königreiche zurück,
+     * siehe {@link Clustering#setMaxIterations(int)}
+     * @return die maximale Anzahl an Iterationen
+     */
+    public int getKingdomIterations() {
+        return this.kingdomIterations;
+    }
+
+    public void setKingdomIterations(int kingdomIterations) {
+        if (kingdomIterations < 1)
+            throw new IllegalArgumentException("Ungültige Anzahl an Iterationen");
+
+        this.kingdomIterations = kingdomIterations;
+    }
+
+    /**
+     * Gibt den Startwert für alle Zufallsentscheidungen der Generierung zurück.
+     * Gleicher Startwert und gleiche Parameter ergeben immer die gleiche Karte.
+     * @return der Startwert oder null, falls ein zufälliger Startwert gewählt werden soll
+     */
+    public Long getSeed() {
+        return this.seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Gibt den Cache zurück, in dem generierte Karten abgelegt werden. Der Cache wird nur verwendet, wenn auch ein
+     * Startwert gesetzt ist, da Karten mit zufälligem Startwert nie wieder angefragt werden.
+     * @return der Cache oder null, falls kein Cache verwendet werden soll
+     */
+    public MapCache getCache() {
+        return this.cache;
+    }
+
+    public void setCache(MapCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Gibt den Listener zurück, der über die einzelnen Schritte und den Fortschritt der Generierung informiert wird
+     * @return der Listener, nie null
+     */
+    public MapGenerationListener getListener() {
+        return this.listener;
+    }
+
+    public void setListener(MapGenerationListener listener) {
+        this.listener = listener != null ? listener : MapGenerationListener.NONE;
+    }
+
+    /**
+     * Gibt den Abstand der Gitterpunkte in Pixeln zurück, auf denen im Modus {@link BackgroundMode#INTERPOLATED}
+     * Perlin-Noise berechnet wird
+     * @return der Abstand in Pixeln
+     */
+    public int getNoiseStep() {
+        return this.noiseStep;
+    }
+
+    public void setNoiseStep(int noiseStep) {
+        if (noiseStep < 1)
+            throw new IllegalArgumentException("Ungültiger Gitterabstand");
+
+        this.noiseStep = noiseStep;
+    }
+
+    /**
+     * Gibt den Mindestabstand zwischen zwei Burgen in Pixeln im Modus {@link PlacementMode#POISSON_DISK} zurück
+     * @return der Mindestabstand oder 0, falls er wie bei der Platzierung über Felder aus der Kartengröße und der
+     *         Anzahl der Burgen berechnet wird
+     */
+    public int getMinCastleDistance() {
+        return this.minCastleDistance;
+    }
+
+    public void setMinCastleDistance(int minCastleDistance) {
+        if (minCastleDistance < 0)
+            throw new IllegalArgumentException("Ungültiger Mindestabstand");
+
+        this.minCastleDistance = minCastleDistance;
+    }
+
+    /**
+     * Gibt an, ob die Karte ohne Hintergrundbild generiert wird, etwa für Simulationen ohne Oberfläche.
+     * Perlin-Noise wird dann nur auf dem groben Gitter aus {@link #getNoiseStep()} berechnet, das nach der Platzierung
+     * der Burgen wieder verworfen wird. Burgen, Kanten und Königreiche entsprechen denen einer Karte mit
+     * {@link BackgroundMode#INTERPOLATED} und gleichem Startwert. Meldungen zur Generierung werden dann nicht auf der
+     * Konsole ausgegeben.
+     * @return true, wenn kein Hintergrundbild erzeugt wird
+     */
+    public boolean isHeadless() {
+        return this.headless;
+    }
+
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+}
@@ -1,9 +1,10 @@
 package game.map;
 
 import game.Player;
-import java.awt.Point;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Diese Klasse representiert ein Königreich. Jedes Königreich hat eine Liste von Burgen sowie einen Index {@link #type} im Bereich von 0-5
@@ -11,9 +12,14 @@ import java.util.List;
  */
 public class Kingdom {
 
-    private List<Castle> castles;
+    // Wie in Player werden die Burgen und die Anzahl je Besitzer über die Liste der Burgen synchronisiert, da
+    // Angriffe auf eigenen Threads die Besitzer ändern, während die Oberfläche sie liest
+    private final List<Castle> castles;
     private int type;
     private Castle center;
+
+    // Anzahl der Burgen je Besitzer, wird bei jedem Besitzerwechsel aktualisiert (siehe Castle#setOwner)
+    private final Map<Player, Integer> castlesPerOwner;
     
     public Castle getCenter() {
       return this.center;
@@ -21,8 +27,10 @@ public class Kingdom {
     
     public void setCenter(Castle center) {
       this.center = center;
-      if (!getCastles().contains(center)) {
-        addCastle(center);
+      synchronized (castles) {
+        if (!castles.contains(center)) {
+          addCastle(center);
+        }
       }
     }
     
@@ -32,7 +40,8 @@ public class Kingdom {
      * @param type der Typ des Königreichs (im Bereich 0-5)
      */
     public Kingdom(int type) {
-        this.castles = new LinkedList<>();
+        this.castles = new ArrayList<>();
+        this.castlesPerOwner = new HashMap<>();
         this.type = type;
     }
 
@@ -41,7 +50,10 @@ public class Kingdom {
      * @param castle die Burg, die hinzugefügt werden soll
      */
     public void addCastle(Castle castle) {
-        this.castles.add(castle);
+        synchronized (castles) {
+            this.castles.add(castle);
+            ownerChanged(null, castle.getOwner());
+        }
     }
 
     /**
@@ -57,110 +69,82 @@ public class Kingdom {
      * @param castle die zu entfernende Burg
      */
     public void removeCastle(Castle castle) {
-        this.castles.remove(castle);
+        synchronized (castles) {
+            if(this.castles.remove(castle))
+                ownerChanged(castle.getOwner(), null);
+        }
+    }
+
+    /**
+     * Aktualisiert die Anzahl der Burgen je Besitzer, nachdem eine Burg des Königreichs den Besitzer gewechselt hat
+     * @param oldOwner der bisherige Besitzer oder null
+     * @param newOwner der neue Besitzer oder null
+     */
+    void ownerChanged(Player oldOwner, Player newOwner) {
+        synchronized (castles) {
+            if(oldOwner != null)
+                castlesPerOwner.computeIfPresent(oldOwner, (player, count) -> count > 1 ? count - 1 : null);
+            if(newOwner != null)
+                castlesPerOwner.merge(newOwner, 1, Integer::sum);
+        }
     }
 
     /**
      * Gibt den Spieler zurück, der alle Burgen in dem Köngreich besitzt.
      * Sollte es keinen Spieler geben, der alle Burgen besitzt, wird null zurückgegeben.
+     * Die Abfrage benötigt nur O(1), da die Burgen je Besitzer mitgezählt werden.
      * @return der Besitzer oder null
      */
     public Player getOwner() {
-        if(castles.isEmpty())
-            return null;
-
-        Player owner = castles.get(0).getOwner();
-        for(Castle castle : castles) {
-            if(castle.getOwner() != owner)
+        synchronized (castles) {
+            if(castles.isEmpty())
                 return null;
-        }
 
-        return owner;
+            Player owner = castles.get(0).getOwner();
+            return owner != null && getCastleCount(owner) == castles.size() ? owner : null;
+        }
     }
 
     /**
-     * Gibt alle Burgen zurück, die in diesem Königreich liegen
-     * @return Liste von Burgen im Königreich
-     */
-    public List<Castle> getCastles() {
-        return this.castles;
-    }
-    
-    /**
-     * @author shangsuru
-     * Bestimmt neues Zentrum für das Königreich, indem
-     * der Mittelpunkt aller Burgen bestimmt und die Burg,
-     * die am nächsten zu diesem Punkt ist, als neues Zentrum
-     * ausgewählt wird.
+     * Gibt die Anzahl der Burgen in diesem Königreich zurück, die dem Spieler gehören
+     * @param player der Spieler
+     * @return die Anzahl der Burgen
      */
-    public void determineNewCenter() {
-      setCenter(getClosestCastle(getCenterOfCastles()));
-    }
-    
-    /**
-     * @author shangsuru
-     * @param point
-     * @return nächstgelegene Burg zum gegebenen Punkt
-     */
-    private Castle getClosestCastle(Point point) {
-      Castle closest = getCastles().get(0);
-      Castle current;
-      for (int i = 1; i < getCastles().size(); i++) {
-        current = getCastles().get(i);
-        if (current.distance(point) < closest.distance(point)) {
-          closest = current;
+    public int getCastleCount(Player player) {
+        if(player == null)
+            return 0;
+
+        synchronized (castles) {
+            return castlesPerOwner.getOrDefault(player, 0);
         }
-      }
-      return closest;
     }
-    
+
     /**
-     * Diese Methode gibt den Mittelpunkt aller Burgen innerhalb des 
-     * Königreichs wieder, indem sie den Durschnitt über 
-     * alle x und y Koordinaten der Burgen bestimmt.
-     * @return Mittelpunkt 
+     * Gibt zurück, wie viele Burgen dem Spieler noch fehlen, um das ganze Königreich zu besitzen
+     * @param player der Spieler
+     * @return die Anzahl der fehlenden Burgen, 0 wenn der Spieler das Königreich besitzt
      */
-    private Point getCenterOfCastles() {
-      double meanX = 0;
-      double meanY = 0;
-      int numberOfCastles = getCastles().size();
-      
-      for (Castle castle : getCastles()) {
-        meanX += castle.getLocationOnMap().getX();
-        meanY += castle.getLocationOnMap().getY();
-      }
-      meanX /= numberOfCastles;
-      meanY /= numberOfCastles;
-      
-      return new Point((int) meanX, (int) meanY);
+    public int getMissingCastles(Player player) {
+        synchronized (castles) {
+            return castles.size() - getCastleCount(player);
+        }
     }
-    
+
     /**
-     * Überprüft ob die zwei Königreiche gleich sind.
-     * @param kingdom
-     * @return
+     * Gibt eine Kopie der Burgen zurück, die in diesem Königreich liegen, siehe {@link Player#getCastles(game.Game)}
+     * @return Liste von Burgen im Königreich
      */
-    public boolean isSame(Kingdom kingdom) {
-      if (this.type != kingdom.type) {
-        return false;
-      }
-      if (!this.center.isSame(kingdom.getCenter())) {
-        return false;
-      }
-      if (this.getCastles().size() != kingdom.getCastles().size()) {
-        return false;
-      }
-      for (int i = 0; i < this.getCastles().size(); i++) {
-        if (!this.getCastles().get(i).isSame(kingdom.getCastles().get(i))) {
-          return false;
+    public List<Castle> getCastles() {
+        synchronized (castles) {
+            return new ArrayList<>(this.castles);
         }
-      }
-      
-      return true;
     }
-
+    
     public void clearCastles() {
-      this.castles = new LinkedList<>();
+      synchronized (castles) {
+        this.castles.clear();
+        this.castlesPerOwner.clear();
+      }
     }
     
 }
@@ -0,0 +1,240 @@
+package game.map;
+
+import base.Edge;
+import base.Graph;
+import base.Node;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diese Klasse speichert generierte Karten in einem Verzeichnis, damit Karten mit gleichen Parametern und gleichem
+ * Startwert nicht erneut generiert werden müssen.
+ *
+ * Jede Karte wird in einer eigenen Binärdatei abgelegt. Diese enthält das Hintergrundbild als gepackte 4-Bit-Pixel
+ * (entfällt bei Karten ohne Hintergrund, siehe {@link GameMap#isHeadless()}), die Positionen und Namen der Burgen, die Kanten als Index-Paare sowie die Königreiche.
+ * Beim Laden wird die Datei mit einem einzigen Memory-Mapped-Zugriff eingelesen.
+ */
+public class MapCache {
+
+    private static final int MAGIC = 0x474F4343; // "GOCC"
+    private static final int VERSION = 2;
+
+    // Gesetzt, wenn die Datei ein Hintergrundbild enthält
+    private static final int FLAG_BACKGROUND = 1;
+
+    /**
+     * Die Systemeigenschaft, die das Verzeichnis des Standard-Caches festlegt. Ein leerer Wert schaltet ihn ab.
+     */
+    public static final String DIRECTORY_PROPERTY = "goc.mapcache";
+
+    private static final MapCache DEFAULT = createDefault();
+
+    private final File directory;
+
+    /**
+     * Erzeugt einen neuen Cache im angegebenen Verzeichnis. Das Verzeichnis wird bei Bedarf angelegt.
+     * @param directory das Verzeichnis für die Kartendateien
+     */
+    public MapCache(File directory) {
+        this.directory = directory;
+    }
+
+    private static MapCache createDefault() {
+        String directory = System.getProperty(DIRECTORY_PROPERTY,
+            new File(System.getProperty("java.io.tmpdir"), "game-of-castles-maps").getPath());
+        return directory.isEmpty() ? null : new MapCache(new File(directory));
+    }
+
+    /**
+     * Gibt den Cache zurück, den Spiele mit festem Startwert und Simulationen verwenden. Er liegt im temporären
+     * Verzeichnis, sofern die Systemeigenschaft {@link #DIRECTORY_PROPERTY} kein anderes Verzeichnis angibt.
+     * @return der Standard-Cache oder null, falls er abgeschaltet ist
+     */
+    public static MapCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Erzeugt den Schlüssel einer Karte. Dieser muss alle Parameter enthalten, die das Ergebnis der Generierung beeinflussen.
+     * @param width die Breite des Spielfelds
+     * @param height die Höhe des Spielfelds
+     * @param scale die Skalierung
+     * @param castleCount die maximale Anzahl an Burgen
+     * @param kingdomCount die Anzahl der Königreiche
+     * @param settings die Einstellungen der Generierung, der Startwert muss gesetzt sein
+     * @return der Schlüssel, gleichzeitig der Dateiname
+     */
+    static String createKey(int width, int height, int scale, int castleCount, int kingdomCount, GenerationSettings settings) {
+        boolean interpolated = settings.isHeadless() || settings.getBackgroundMode() == GenerationSettings.BackgroundMode.INTERPOLATED;
+        int noiseStep = interpolated ? settings.getNoiseStep() : 1;
+        return String.format("map_%dx%d_s%d_c%d_k%d_i%d_n%d_%s%d_%s_%d%s.bin", width, height, scale, castleCount, kingdomCount,
+            settings.getKingdomIterations(), noiseStep, settings.getPlacementMode().name().toLowerCase(), settings.getMinCastleDistance(),
+            settings.getEdgeMode().name().toLowerCase(), settings.getSeed(), settings.isHeadless() ? "_headless" : "");
+    }
+
+    private File getFile(String key) {
+        return new File(directory, key);
+    }
+
+    /**
+     * Lädt eine Karte aus dem Cache.
+     * @param key der Schlüssel der Karte, siehe {@link #createKey(int, int, int, int, int, GenerationSettings)}
+     * @return die geladene Karte oder null, falls die Karte nicht im Cache liegt oder nicht gelesen werden konnte
+     */
+    GameMap load(String key) {
+        File file = getFile(key);
+        if (!file.isFile())
+            return null;
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer);
+        } catch (IOException | RuntimeException ex) {
+            System.out.println("Karte konnte nicht aus dem Cache geladen werden: " + file);
+            ex.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Speichert eine Karte im Cache. Die Datei wird zunächst unter einem temporären Namen geschrieben und anschließend
+     * umbenannt, damit parallel laufende Generierungen niemals eine halb geschriebene Datei lesen.
+     * @param key der Schlüssel der Karte
+     * @param map die zu speichernde Karte
+     */
+    void store(String key, GameMap map) {
+        try {
+            Files.createDirectories(directory.toPath());
+            Path target = getFile(key).toPath();
+            Path temp = Files.createTempFile(directory.toPath(), key, ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = write(map);
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            System.out.println("Karte konnte nicht im Cache gespeichert werden: " + key);
+            ex.printStackTrace();
+        }
+    }
+
+    private static ByteBuffer write(GameMap map) {
+        List<Castle> castles = map.getCastles();
+        List<Edge<Castle>> edges = map.getEdges();
+        List<Kingdom> kingdoms = map.getKingdoms();
+        BufferedImage background = map.getBackgroundImage();
+        byte[] pixels = background != null ? ((DataBufferByte) background.getRaster().getDataBuffer()).getData() : new byte[0];
+
+        Map<Castle, Integer> castleIndex = new IdentityHashMap<>();
+        byte[][] names = new byte[castles.size()][];
+        int size = 4 * 12 + 8 + pixels.length + 8 * edges.size() + 8 * kingdoms.size();
+        for (int i = 0; i < castles.size(); i++) {
+            castleIndex.put(castles.get(i), i);
+            names[i] = castles.get(i).getName().getBytes(StandardCharsets.UTF_8);
+            size += 4 * 4 + names[i].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION);
+        buffer.putInt(map.getGridWidth()).putInt(map.getGridHeight()).putInt(map.getScale()).putLong(map.getSeed());
+
+        buffer.putInt(background != null ? FLAG_BACKGROUND : 0);
+        if (background != null)
+            buffer.putInt(background.getWidth()).putInt(background.getHeight()).putInt(pixels.length).put(pixels);
+
+        Map<Kingdom, Integer> kingdomIndex = new IdentityHashMap<>();
+        buffer.putInt(kingdoms.size());
+        for (int i = 0; i < kingdoms.size(); i++) {
+            Kingdom kingdom = kingdoms.get(i);
+            kingdomIndex.put(kingdom, i);
+            buffer.putInt(kingdom.getType()).putInt(castleIndex.get(kingdom.getCenter()));
+        }
+
+        buffer.putInt(castles.size());
+        for (int i = 0; i < castles.size(); i++) {
+            Castle castle = castles.get(i);
+            Point location = castle.getLocationOnMap();
+            buffer.putInt(location.x).putInt(location.y).putInt(kingdomIndex.getOrDefault(castle.getKingdom(), -1));
+            buffer.putInt(names[i].length).put(names[i]);
+        }
+
+        buffer.putInt(edges.size());
+        for (Edge<Castle> edge : edges) {
+            buffer.putInt(castleIndex.get(edge.getNodeA().getValue())).putInt(castleIndex.get(edge.getNodeB().getValue()));
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    private static GameMap read(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+            throw new IOException("Ungültiges Dateiformat");
+
+        int width = buffer.getInt();
+        int height = buffer.getInt();
+        int scale = buffer.getInt();
+        long seed = buffer.getLong();
+        GameMap map = new GameMap(width, height, scale, seed);
+
+        if ((buffer.getInt() & FLAG_BACKGROUND) != 0) {
+            BufferedImage background = GameMap.createTerrainImage(buffer.getInt(), buffer.getInt());
+            byte[] pixels = ((DataBufferByte) background.getRaster().getDataBuffer()).getData();
+            if (buffer.getInt() != pixels.length)
+                throw new IOException("Ungültige Bildgröße");
+            buffer.get(pixels);
+            map.setBackgroundImage(background);
+        }
+
+        List<Kingdom> kingdoms = new ArrayList<>();
+        int[] centers = new int[buffer.getInt()];
+        for (int i = 0; i < centers.length; i++) {
+            kingdoms.add(new Kingdom(buffer.getInt()));
+            centers[i] = buffer.getInt();
+        }
+
+        Graph<Castle> graph = map.getGraph();
+        List<Node<Castle>> nodes = new ArrayList<>();
+        int castleCount = buffer.getInt();
+        for (int i = 0; i < castleCount; i++) {
+            Point location = new Point(buffer.getInt(), buffer.getInt());
+            int kingdom = buffer.getInt();
+            byte[] name = new byte[buffer.getInt()];
+            buffer.get(name);
+
+            Castle castle = new Castle(location, new String(name, StandardCharsets.UTF_8));
+            if (kingdom >= 0)
+                castle.setKingdom(kingdoms.get(kingdom));
+            nodes.add(graph.addNode(castle));
+        }
+
+        for (int i = 0; i < centers.length; i++) {
+            kingdoms.get(i).setCenter(nodes.get(centers[i]).getValue());
+        }
+        map.setKingdoms(kingdoms);
+
+        int edgeCount = buffer.getInt();
+        for (int i = 0; i < edgeCount; i++) {
+            graph.addEdge(nodes.get(buffer.getInt()), nodes.get(buffer.getInt()));
+        }
+
+        return map;
+    }
+}
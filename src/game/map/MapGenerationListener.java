@@ -0,0 +1,86 @@
+package game.map;
+
+/**
+ * Dieses Interface wird über den Ablauf der Kartengenerierung informiert.
+ * Die Generierung besteht aus mehreren aufeinanderfolgenden Schritten, siehe {@link Stage}. Für jeden Schritt werden
+ * Laufzeit, auf dem generierenden Thread allokierter Speicher und die Anzahl der erzeugten Elemente gemeldet. Zusätzlich
+ * wird der Gesamtfortschritt als Anteil zwischen 0 und 1 gemeldet, etwa für eine Fortschrittsanzeige.
+ *
+ * Alle Methoden werden auf dem Thread aufgerufen, der die Karte generiert, und haben eine leere Standardimplementierung.
+ * Wirft ein Listener eine RuntimeException, wird die Generierung abgebrochen und die Exception weitergegeben.
+ */
+public interface MapGenerationListener {
+
+    /**
+     * Die Schritte der Kartengenerierung in der Reihenfolge ihrer Ausführung
+     */
+    enum Stage {
+        // Perlin-Noise und Hintergrundbild, Elemente: Pixel
+        BACKGROUND(0.45),
+        // Platzierung der Burgen, Elemente: Burgen
+        CASTLES(0.2),
+        // Kanten zwischen den Burgen, Elemente: Kanten
+        EDGES(0.25),
+        // Aufteilung in Königreiche, Elemente: Königreiche
+        KINGDOMS(0.05),
+        // Prüfung, ob alle Burgen erreichbar sind, und falls nötig Reparatur, Elemente: ergänzte Kanten
+        VERIFICATION(0.05);
+
+        private final double weight;
+
+        Stage(double weight) {
+            this.weight = weight;
+        }
+
+        /**
+         * @return der Anteil dieses Schritts an der gesamten Generierung
+         */
+        public double getWeight() {
+            return this.weight;
+        }
+
+        /**
+         * @return der Gesamtfortschritt zu Beginn dieses Schritts
+         */
+        public double getStart() {
+            double start = 0;
+            for (Stage stage : values()) {
+                if (stage == this)
+                    break;
+                start += stage.weight;
+            }
+            return start;
+        }
+    }
+
+    /**
+     * Ein Listener, der alle Meldungen ignoriert
+     */
+    MapGenerationListener NONE = new MapGenerationListener() {};
+
+    /**
+     * Wird aufgerufen, bevor ein Schritt beginnt
+     * @param stage der Schritt
+     */
+    default void stageStarted(Stage stage) {
+    }
+
+    /**
+     * Wird aufgerufen, nachdem ein Schritt abgeschlossen ist
+     * @param stage der Schritt
+     * @param nanos die Laufzeit des Schritts in Nanosekunden
+     * @param allocatedBytes der während des Schritts auf dem generierenden Thread allokierte Speicher in Byte oder -1,
+     *                       falls die JVM diese Messung nicht unterstützt. Allokationen anderer Threads, etwa beim
+     *                       parallelen Clustering, sind nicht enthalten.
+     * @param items die Anzahl der im Schritt erzeugten Elemente, siehe {@link Stage}
+     */
+    default void stageFinished(Stage stage, long nanos, long allocatedBytes, int items) {
+    }
+
+    /**
+     * Wird aufgerufen, wenn sich der Fortschritt der Generierung ändert
+     * @param fraction der Gesamtfortschritt zwischen 0 und 1
+     */
+    default void progress(double fraction) {
+    }
+}
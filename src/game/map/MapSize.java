@@ -1,18 +1,89 @@
 package game.map;
 
+import game.GameConstants;
+
+import java.awt.Dimension;
 import java.util.Arrays;
 import java.util.Vector;
 import java.util.stream.Collectors;
 
+/**
+ * Die wählbaren Kartengrößen.
+ *
+ * Bei den Größen bis {@link #LARGE} hängt die Anzahl der Burgen von der Spieleranzahl ab, die Größen {@link #XL} und
+ * {@link #XXL} haben eine feste Anzahl an Burgen. Alternativ kann eine eigene Anzahl an Burgen angegeben werden, die
+ * Karte wird dann so groß gewählt, dass die Burgen mit der Dichte der jeweiligen Kartengröße darauf passen.
+ *
+ * Richtwerte auf einem Kern (Zeit für die Generierung, danach belegter Speicher der Karte):
+ *   XL:  2.500 Burgen, 230x153 Felder, etwa 3,5 s und 35 MB
+ *   XXL: 10.000 Burgen, 368x245 Felder, etwa 7,5 s und 80 MB
+ * Während der Generierung entstehen zusätzlich etwa 500 MB kurzlebige Objekte, größtenteils beim Hintergrundbild.
+ * Ein vollständiger Zug von {@link game.players.BasicAI} mit 5.000 Burgen auf einer Karte mit 10.000 Burgen dauert
+ * etwa 2 s. Die Budgets (30 s und 256 MB für die Generierung, 10 s für den Zug) prüft LargeMapTest.
+ */
 public enum MapSize {
 
-    SMALL("Klein"),
-    MEDIUM("Mittel"),
-    LARGE("Groß");
+    SMALL("Klein", 0, 12),
+    MEDIUM("Mittel", 0, 35),
+    LARGE("Groß", 0, 73),
+    XL("Sehr groß", 2500, 14),
+    XXL("Riesig", 10000, 9);
+
+    /**
+     * Größte Fläche einer Karte in Feldern. Bei sehr vielen Burgen wird die Dichte erhöht, damit das Hintergrundbild
+     * nicht zu viel Speicher belegt.
+     */
+    public static final int MAX_TILES = 100000;
+
+    /**
+     * Kleinste und größte Anzahl an Burgen, die als eigene Anzahl angegeben werden kann
+     */
+    public static final int MIN_CASTLES = 10;
+    public static final int MAX_CASTLES = 20000;
 
     private String label;
-    MapSize(String lbl) {
+    private int castleCount;
+    private int tilesPerCastle;
+
+    MapSize(String lbl, int castleCount, int tilesPerCastle) {
         this.label = lbl;
+        this.castleCount = castleCount;
+        this.tilesPerCastle = tilesPerCastle;
+    }
+
+    /**
+     * Gibt die Anzahl der Burgen zurück, die für diese Kartengröße standardmäßig generiert werden
+     * @param playerCount die Anzahl der Spieler
+     * @return die Anzahl der Burgen
+     */
+    public int getCastleCount(int playerCount) {
+        if (castleCount > 0)
+            return castleCount;
+
+        return playerCount * GameConstants.CASTLES_NUMBER_MULTIPLIER * (ordinal() + 1);
+    }
+
+    /**
+     * Berechnet die Größe der Karte in Feldern. Für die Standardanzahl der Burgen bei den Größen bis {@link #LARGE}
+     * wird die bisherige Berechnung verwendet, sonst wächst die Fläche linear mit der Anzahl der Burgen.
+     * Die Karte ist immer im Verhältnis 3:2.
+     * @param playerCount die Anzahl der Spieler
+     * @param castleCount die Anzahl der Burgen
+     * @return Breite und Höhe in Feldern
+     */
+    public Dimension getMapDimension(int playerCount, int castleCount) {
+        if (this.castleCount == 0 && castleCount == getCastleCount(playerCount)) {
+            double tileMultiplier = 1.0 + ((ordinal() + 1) * 0.3);
+
+            // We set up space for 2 times the region count
+            int numTiles = (int) Math.ceil(castleCount * tileMultiplier);
+
+            // Our map should be 3:2
+            return new Dimension((int) Math.ceil(0.6 * numTiles), (int) Math.ceil(0.4 * numTiles));
+        }
+
+        double area = Math.min(MAX_TILES, (double) castleCount * tilesPerCastle);
+        return new Dimension((int) Math.ceil(Math.sqrt(area * 1.5)), (int) Math.ceil(Math.sqrt(area / 1.5)));
     }
 
     @Override
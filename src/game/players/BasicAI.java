@@ -2,16 +2,18 @@ package game.players;
 
 import java.awt.Color;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import base.Edge;
 import base.Graph;
 import base.Node;
 import game.AI;
+import game.AttackThread;
 import game.Game;
 import game.map.Castle;
-import gui.AttackThread;
 
 public class BasicAI extends AI {
 
@@ -45,17 +47,24 @@ public class BasicAI extends AI {
       // 1. Distribute remaining troops
       Graph<Castle> graph = game.getMap().getGraph();
       List<Castle> castleNearEnemy = new ArrayList<>();
+      // Set for fast lookups on large maps, the list keeps the order of the castles
+      Set<Castle> castleNearEnemySet = new HashSet<>();
       for(Castle castle : this.getCastles(game)) {
         Node<Castle> node = graph.getNode(castle);
         for(Edge<Castle> edge : graph.getEdges(node)) {
           Castle otherCastle = edge.getOtherNode(node).getValue();
           if(otherCastle.getOwner() != this) {
             castleNearEnemy.add(castle);
+            castleNearEnemySet.add(castle);
             break;
           }
         }
       }
 
+      // No castle borders an enemy, e.g. when all castles are lost but the player is still in the game
+      if(castleNearEnemy.isEmpty())
+        return;
+
       while(this.getRemainingTroops() > 0) {
         Castle fewestTroops = getCastleWithFewestTroops(castleNearEnemy);
         sleep(500);
@@ -67,7 +76,7 @@ public class BasicAI extends AI {
       do {
         // 2. Move troops from inside to border
         for (Castle castle : this.getCastles(game)) {
-          if (!castleNearEnemy.contains(castle) && castle.getTroopCount() > 1) {
+          if (!castleNearEnemySet.contains(castle) && castle.getTroopCount() > 1) {
             Castle fewestTroops = getCastleWithFewestTroops(castleNearEnemy);
             game.moveTroops(castle, fewestTroops, castle.getTroopCount() - 1);
           }
@@ -84,6 +93,9 @@ public class BasicAI extends AI {
             Castle otherCastle = edge.getOtherNode(node).getValue();
             if (otherCastle.getOwner() != this && castle.getTroopCount() >= otherCastle.getTroopCount()) {
               AttackThread attackThread = game.startAttack(castle, otherCastle, castle.getTroopCount());
+              // no attack is possible after the game is over
+              if(attackThread == null)
+                return;
               if(fastForward)
                 attackThread.fastForward();
 
@@ -11,12 +11,15 @@ import base.Edge;
 import base.Graph;
 import base.Node;
 import game.AI;
+import game.AttackThread;
 import game.Game;
 import game.map.Castle;
-import gui.AttackThread;
 
 public class EmperorAI extends AI {
 
+  // minimum chance to conquer a castle before attacking it
+  private static final double MIN_WIN_PROBABILITY = 0.9;
+
   public EmperorAI(String name, Color color) {
     super(name, color);
   }
@@ -90,7 +93,7 @@ public class EmperorAI extends AI {
     Graph<Castle> graph = game.getMap().getGraph();
     Castle attackingCastle = gatherForAttack(game);
     do {
-      if(attackingCastle == null) {
+      if(attackingCastle == null || game.isOver()) {
         break;
       }
       Node<Castle> nodeOfAttackingCastle = graph.getNode(attackingCastle);
@@ -111,10 +114,13 @@ public class EmperorAI extends AI {
         }
       }
 
-      /* attack if attacking castle has at least four times 
-       * the amount of troops than the target enemy castle*/
-      if (attackingCastle.getTroopCount() >= 4 * weakestEnemy.getTroopCount()) {
+      // attack only if the attack is very likely to conquer the target enemy castle
+      if (getWinProbability(attackingCastle, weakestEnemy) >= MIN_WIN_PROBABILITY) {
         AttackThread attackThread = game.startAttack(attackingCastle, weakestEnemy, attackingCastle.getTroopCount());
+        // no attack is possible after the game is over
+        if(attackThread == null) {
+          break;
+        }
         if(fastForward) {
           attackThread.fastForward(); 
         }
@@ -11,12 +11,15 @@ import base.Edge;
 import base.Graph;
 import base.Node;
 import game.AI;
+import game.AttackThread;
 import game.Game;
 import game.map.Castle;
-import gui.AttackThread;
 
 public class OPAI extends AI {
 
+  // minimum chance to conquer a castle before attacking it
+  private static final double MIN_WIN_PROBABILITY = 0.7;
+
   public OPAI(String name, Color color) {
     super(name, color);
   }
@@ -108,7 +111,7 @@ public class OPAI extends AI {
     Graph<Castle> graph = game.getMap().getGraph();
     Castle attackingCastle = gatherForAttack(game);
     do {
-      if(attackingCastle == null) {
+      if(attackingCastle == null || game.isOver()) {
         break;
       }
       Node<Castle> nodeOfAttackingCastle = graph.getNode(attackingCastle);
@@ -129,10 +132,13 @@ public class OPAI extends AI {
         }
       }
 
-      /* attack if attacking castle has at least four times 
-       * the amount of troops than the target enemy castle*/
-      if (attackingCastle.getTroopCount() >= 3 + weakestEnemy.getTroopCount()) {
+      // attack if the attack is likely to conquer the target enemy castle
+      if (getWinProbability(attackingCastle, weakestEnemy) >= MIN_WIN_PROBABILITY) {
         AttackThread attackThread = game.startAttack(attackingCastle, weakestEnemy, attackingCastle.getTroopCount());
+        // no attack is possible after the game is over
+        if(attackThread == null) {
+          break;
+        }
         if(fastForward) {
           attackThread.fastForward(); 
         }
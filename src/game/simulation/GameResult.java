@@ -0,0 +1,74 @@
+package game.simulation;
+
+/**
+ * Das Ergebnis eines simulierten Spiels. Die Spieler werden über ihre Position in
+ * {@link SimulationSettings#getPlayerTypes()} angesprochen.
+ */
+public class GameResult {
+
+    private final long seed;
+    private final int winner;
+    private final int rounds;
+    private final boolean finished;
+    private final int[] scores;
+    private final int[] turns;
+    private final long[] turnNanos;
+    private final long maxTurnNanos;
+
+    GameResult(long seed, int winner, int rounds, boolean finished, int[] scores, int[] turns, long[] turnNanos,
+               long maxTurnNanos) {
+        this.seed = seed;
+        this.winner = winner;
+        this.rounds = rounds;
+        this.finished = finished;
+        this.scores = scores;
+        this.turns = turns;
+        this.turnNanos = turnNanos;
+        this.maxTurnNanos = maxTurnNanos;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * @return die Position des Siegers oder -1, falls das Spiel ohne Sieger endete
+     */
+    public int getWinner() {
+        return this.winner;
+    }
+
+    public int getRounds() {
+        return this.rounds;
+    }
+
+    /**
+     * @return false, wenn das Spiel nach {@link SimulationSettings#getMaxRounds()} Runden abgebrochen wurde
+     */
+    public boolean isFinished() {
+        return this.finished;
+    }
+
+    public int getScore(int player) {
+        return this.scores[player];
+    }
+
+    public int getTurns(int player) {
+        return this.turns[player];
+    }
+
+    /**
+     * @param player die Position des Spielers
+     * @return die Rechenzeit aller Züge des Spielers in Nanosekunden
+     */
+    public long getTurnNanos(int player) {
+        return this.turnNanos[player];
+    }
+
+    /**
+     * @return die Rechenzeit des längsten Zuges in Nanosekunden
+     */
+    public long getMaxTurnNanos() {
+        return this.maxTurnNanos;
+    }
+}
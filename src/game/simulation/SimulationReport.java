@@ -0,0 +1,128 @@
+package game.simulation;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Die Zusammenfassung einer Reihe simulierter Spiele, siehe {@link SimulationRunner}.
+ * Siegquoten werden mit dem 95%-Konfidenzintervall der Normalverteilung angegeben.
+ */
+public class SimulationReport {
+
+    private final List<String> playerNames;
+    private final String description;
+    private final List<GameResult> results;
+    private final int failedGames;
+    private final long wallNanos;
+
+    SimulationReport(List<String> playerNames, String description, List<GameResult> results, int failedGames,
+                     long wallNanos) {
+        this.playerNames = playerNames;
+        this.description = description;
+        this.results = results;
+        this.failedGames = failedGames;
+        this.wallNanos = wallNanos;
+    }
+
+    /**
+     * @return die Ergebnisse aller fehlerfrei beendeten Spiele, sortiert nach Startwert
+     */
+    public List<GameResult> getResults() {
+        return Collections.unmodifiableList(this.results);
+    }
+
+    public int getGameCount() {
+        return this.results.size();
+    }
+
+    /**
+     * @return die Anzahl der Spiele, die wegen einer Exception abgebrochen wurden
+     */
+    public int getFailedGames() {
+        return this.failedGames;
+    }
+
+    public long getWallNanos() {
+        return this.wallNanos;
+    }
+
+    public int getWins(int player) {
+        int wins = 0;
+        for (GameResult result : results) {
+            if (result.getWinner() == player)
+                wins++;
+        }
+        return wins;
+    }
+
+    /**
+     * @return die Anzahl der Spiele ohne Sieger, etwa weil die Rundengrenze erreicht wurde
+     */
+    public int getDraws() {
+        return getWins(-1);
+    }
+
+    public double getWinRate(int player) {
+        return results.isEmpty() ? 0 : getWins(player) / (double) results.size();
+    }
+
+    /**
+     * Gibt die halbe Breite des 95%-Konfidenzintervalls der Siegquote zurück
+     * @param player die Position des Spielers
+     * @return die Abweichung, die Siegquote liegt mit 95% Wahrscheinlichkeit in Quote ± Abweichung
+     */
+    public double getWinRateError(int player) {
+        if (results.isEmpty())
+            return 0;
+
+        double rate = getWinRate(player);
+        return 1.96 * Math.sqrt(rate * (1 - rate) / results.size());
+    }
+
+    public double getAverageScore(int player) {
+        return results.stream().mapToInt(r -> r.getScore(player)).average().orElse(0);
+    }
+
+    public double getAverageRounds() {
+        return results.stream().mapToInt(GameResult::getRounds).average().orElse(0);
+    }
+
+    /**
+     * @param player die Position des Spielers
+     * @return die durchschnittliche Rechenzeit eines Zuges des Spielers in Nanosekunden
+     */
+    public double getAverageTurnNanos(int player) {
+        long nanos = 0;
+        long turns = 0;
+        for (GameResult result : results) {
+            nanos += result.getTurnNanos(player);
+            turns += result.getTurns(player);
+        }
+        return turns == 0 ? 0 : nanos / (double) turns;
+    }
+
+    public long getMaxTurnNanos() {
+        return results.stream().mapToLong(GameResult::getMaxTurnNanos).max().orElse(0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%s: %d Spiele in %.1f s", description, results.size(), wallNanos / 1e9));
+        if (failedGames > 0)
+            sb.append(String.format(", %d fehlgeschlagen", failedGames));
+        sb.append(System.lineSeparator());
+
+        sb.append(String.format("%-24s %6s %18s %8s %10s%n", "Spieler", "Siege", "Quote", "Punkte", "Zugzeit"));
+        for (int i = 0; i < playerNames.size(); i++) {
+            sb.append(String.format("%-24s %6d %7.1f %% ± %4.1f %% %8.0f %7.2f ms%n", playerNames.get(i), getWins(i),
+                100 * getWinRate(i), 100 * getWinRateError(i), getAverageScore(i), getAverageTurnNanos(i) / 1e6));
+        }
+
+        int minRounds = results.stream().mapToInt(GameResult::getRounds).min().orElse(0);
+        int maxRounds = results.stream().mapToInt(GameResult::getRounds).max().orElse(0);
+        sb.append(String.format("Ohne Sieger: %d, Runden: %.1f (%d bis %d), längster Zug: %.2f ms", getDraws(),
+            getAverageRounds(), minRounds, maxRounds, getMaxTurnNanos() / 1e6));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,222 @@
+package game.simulation;
+
+import game.AI;
+import game.Game;
+import game.GameConstants;
+import game.GameInterface;
+import game.Goal;
+import game.Player;
+import game.RandomSource;
+import game.map.GenerationSettings;
+import game.map.MapCache;
+import game.map.MapSize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spielt eine Reihe von Spielen zwischen KI-Spielern ohne Oberfläche und fasst die Ergebnisse zusammen, etwa um
+ * Änderungen an einer KI mit ausreichend vielen Spielen zu bewerten.
+ *
+ * Die Spiele laufen parallel auf {@link SimulationSettings#getThreadCount()} Threads. Jedes Spiel hat eigene Spieler,
+ * ein eigenes Spielziel und eine eigene Karte ohne Hintergrundbild, siehe {@link Game#setHeadless(boolean)}.
+ * Die Karten werden im {@link MapCache#getDefault() Standard-Cache} abgelegt, eine Wiederholung mit den gleichen
+ * Startwerten lädt sie von dort.
+ */
+public class SimulationRunner {
+
+    private final SimulationSettings settings;
+
+    public SimulationRunner(SimulationSettings settings) {
+        int playerCount = settings.getPlayerTypes().size();
+        if (playerCount < 2 || playerCount > GameConstants.MAX_PLAYERS)
+            throw new IllegalArgumentException("Ungültige Anzahl an Spielern");
+
+        this.settings = settings;
+    }
+
+    /**
+     * Misst die Rechenzeit der Züge, die Zeit zwischen zwei Zügen wird dem vorherigen Spieler zugerechnet
+     */
+    private static class TurnTimer implements GameInterface {
+
+        private final List<Player> players;
+        private final int[] turns;
+        private final long[] turnNanos;
+        private long maxTurnNanos;
+        private int current = -1;
+        private long turnStart;
+
+        private TurnTimer(List<Player> players) {
+            this.players = players;
+            this.turns = new int[players.size()];
+            this.turnNanos = new long[players.size()];
+        }
+
+        private void finishTurn() {
+            long now = System.nanoTime();
+            if (current >= 0) {
+                long nanos = now - turnStart;
+                turns[current]++;
+                turnNanos[current] += nanos;
+                maxTurnNanos = Math.max(maxTurnNanos, nanos);
+            }
+            current = -1;
+            turnStart = now;
+        }
+
+        @Override
+        public void onNextTurn(Player currentPlayer, int troopsGot, boolean human) {
+            finishTurn();
+            current = players.indexOf(currentPlayer);
+        }
+
+        @Override
+        public void onGameOver(Player winner) {
+            finishTurn();
+        }
+    }
+
+    private List<String> getPlayerNames() {
+        List<String> names = new ArrayList<>();
+        List<Class<? extends AI>> playerTypes = settings.getPlayerTypes();
+        for (int i = 0; i < playerTypes.size(); i++) {
+            names.add(String.format("Spieler %d (%s)", i + 1, playerTypes.get(i).getSimpleName()));
+        }
+        return names;
+    }
+
+    /**
+     * Spielt ein Spiel auf dem aufrufenden Thread
+     * @param seed der Startwert für alle Zufallszahlen des Spiels, siehe {@link RandomSource}
+     * @return das Ergebnis
+     * @throws Exception falls das Spiel nicht erstellt werden kann oder bei einem Fehler im Spiel
+     */
+    public GameResult playGame(long seed) throws Exception {
+        List<String> names = getPlayerNames();
+        List<Class<? extends AI>> playerTypes = settings.getPlayerTypes();
+
+        Game game = new Game();
+        game.setHeadless(true);
+        game.setInstantCombat(settings.isInstantCombat());
+        RandomSource randomSource = new RandomSource(seed);
+        game.setRandomSource(randomSource);
+        for (int i = 0; i < playerTypes.size(); i++) {
+            Player player = Player.createPlayer(playerTypes.get(i), names.get(i),
+                GameConstants.PLAYER_COLORS[i % GameConstants.PLAYER_COLORS.length]);
+            if (player == null)
+                throw new IllegalArgumentException("Spieler konnte nicht erstellt werden: " + names.get(i));
+            game.addPlayer(player);
+        }
+
+        // Ein Spielziel gehört immer zu genau einem Spiel
+        Goal goal = settings.getGoalType().getDeclaredConstructor().newInstance();
+        game.setGoal(goal);
+        game.setMapSize(settings.getMapSize());
+
+        GenerationSettings generationSettings = new GenerationSettings();
+        generationSettings.setSeed(randomSource.stream(RandomSource.STREAM_MAP).nextLong());
+        generationSettings.setHeadless(true);
+        generationSettings.setCache(MapCache.getDefault());
+        game.setMap(Game.generateMap(playerTypes.size(), settings.getMapSize(), settings.getCastleCount(),
+            generationSettings));
+
+        List<Player> players = game.getPlayers();
+        TurnTimer timer = new TurnTimer(players);
+        game.start(timer);
+        boolean finished = game.play(settings.getMaxRounds());
+        timer.finishTurn();
+
+        int[] scores = new int[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            scores[i] = players.get(i).getPoints();
+        }
+
+        Player winner = finished ? goal.getWinner() : null;
+        return new GameResult(seed, players.indexOf(winner), game.getRound(), finished, scores, timer.turns,
+            timer.turnNanos, timer.maxTurnNanos);
+    }
+
+    /**
+     * Spielt alle Spiele und wartet, bis sie beendet sind. Spiele, die mit einer Exception abbrechen, werden
+     * ausgegeben und als fehlgeschlagen gezählt.
+     * @return die Zusammenfassung
+     * @throws InterruptedException falls der wartende Thread unterbrochen wurde
+     */
+    public SimulationReport run() throws InterruptedException {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getThreadCount(), runnable -> {
+            Thread thread = new Thread(runnable, "Simulation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        List<GameResult> results = new ArrayList<>();
+        int failedGames = 0;
+        try {
+            List<Future<GameResult>> futures = new ArrayList<>();
+            for (int i = 0; i < settings.getGameCount(); i++) {
+                long seed = settings.getFirstSeed() + i;
+                futures.add(executor.submit(() -> playGame(seed)));
+            }
+
+            for (Future<GameResult> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    e.getCause().printStackTrace();
+                    failedGames++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        String description = String.format("%s, %s", settings.getGoalType().getSimpleName(), settings.getMapSize());
+        return new SimulationReport(getPlayerNames(), description, results, failedGames, System.nanoTime() - start);
+    }
+
+    /**
+     * Startet eine Simulation von der Kommandozeile
+     * @param args Anzahl der Spiele, Kartengröße (etwa SMALL), Spielziel (etwa ConquerGoal) und mindestens zwei
+     *             KI-Typen (etwa BasicAI OPAI)
+     * @throws Exception bei ungültigen Argumenten
+     */
+    @SuppressWarnings("unchecked")
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.out.println("Verwendung: SimulationRunner <Spiele> <Kartengröße> <Spielziel> <KI> <KI>...");
+            return;
+        }
+
+        SimulationSettings settings = new SimulationSettings();
+        settings.setGameCount(Integer.parseInt(args[0]));
+        settings.setMapSize(MapSize.valueOf(args[1]));
+        Class<? extends Goal> goalType = null;
+        for (Goal goal : GameConstants.GAME_GOALS) {
+            if (goal.getClass().getSimpleName().equals(args[2]))
+                goalType = goal.getClass();
+        }
+        if (goalType == null)
+            throw new IllegalArgumentException("Unbekanntes Spielziel: " + args[2]);
+        settings.setGoalType(goalType);
+        for (int i = 3; i < args.length; i++) {
+            Class<?> playerType = null;
+            for (Class<?> type : GameConstants.PLAYER_TYPES) {
+                if (type.getSimpleName().equals(args[i]) && AI.class.isAssignableFrom(type))
+                    playerType = type;
+            }
+            if (playerType == null)
+                throw new IllegalArgumentException("Unbekannter KI-Typ: " + args[i]);
+            settings.addPlayer((Class<? extends AI>) playerType);
+        }
+
+        System.out.println(new SimulationRunner(settings).run());
+    }
+}
@@ -0,0 +1,153 @@
+package game.simulation;
+
+import game.AI;
+import game.Goal;
+import game.goals.ConquerGoal;
+import game.goals.SurviveGoal;
+import game.map.MapSize;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Die Einstellungen für eine Reihe von Spielen zwischen KI-Spielern, siehe {@link SimulationRunner}.
+ *
+ * Jedes Spiel erhält einen eigenen Startwert aus dem Bereich ab {@link #getFirstSeed()}. Aus ihm werden über eine
+ * {@link game.RandomSource} die Karte, die Reihenfolge der Spieler, die Würfel und die Entscheidungen der KI
+ * abgeleitet, ein Spiel lässt sich mit seinem Startwert also wiederholen.
+ */
+public class SimulationSettings {
+
+    private final List<Class<? extends AI>> playerTypes;
+    private Class<? extends Goal> goalType;
+    private MapSize mapSize;
+    private int castleCount;
+    private long firstSeed;
+    private int gameCount;
+    private int maxRounds;
+    private int threadCount;
+    private boolean instantCombat;
+
+    /**
+     * Erzeugt neue Einstellungen mit den Standardwerten: 100 Spiele auf einer kleinen Karte mit dem Spielziel
+     * {@link ConquerGoal}, je Kern ein Thread, Angriffe in einem Schritt
+     */
+    public SimulationSettings() {
+        this.playerTypes = new ArrayList<>();
+        this.goalType = ConquerGoal.class;
+        this.mapSize = MapSize.SMALL;
+        this.gameCount = 100;
+        this.maxRounds = 500;
+        this.threadCount = Runtime.getRuntime().availableProcessors();
+        this.instantCombat = true;
+    }
+
+    /**
+     * Fügt einen Spieler hinzu. Die Spieler werden über ihre Position in der Reihenfolge des Hinzufügens
+     * ausgewertet, der gleiche Typ kann also mehrfach teilnehmen.
+     * @param playerType die Klasse der KI, sie benötigt einen Konstruktor (String, Color)
+     */
+    public void addPlayer(Class<? extends AI> playerType) {
+        this.playerTypes.add(playerType);
+    }
+
+    public List<Class<? extends AI>> getPlayerTypes() {
+        return Collections.unmodifiableList(this.playerTypes);
+    }
+
+    /**
+     * Gibt die Klasse des Spielziels zurück. Für jedes Spiel wird eine eigene Instanz erzeugt, da ein Spielziel
+     * immer an genau ein Spiel gebunden ist.
+     * @return die Klasse des Spielziels
+     */
+    public Class<? extends Goal> getGoalType() {
+        return this.goalType;
+    }
+
+    public void setGoalType(Class<? extends Goal> goalType) {
+        if (goalType == SurviveGoal.class)
+            throw new IllegalArgumentException("Spielziel benötigt einen menschlichen Spieler");
+
+        this.goalType = goalType;
+    }
+
+    public MapSize getMapSize() {
+        return this.mapSize;
+    }
+
+    public void setMapSize(MapSize mapSize) {
+        this.mapSize = mapSize;
+    }
+
+    /**
+     * @return die Anzahl der Burgen oder 0 für die Standardanzahl der Kartengröße
+     */
+    public int getCastleCount() {
+        return this.castleCount;
+    }
+
+    public void setCastleCount(int castleCount) {
+        if (castleCount != 0 && (castleCount < MapSize.MIN_CASTLES || castleCount > MapSize.MAX_CASTLES))
+            throw new IllegalArgumentException("Ungültige Anzahl an Burgen");
+
+        this.castleCount = castleCount;
+    }
+
+    public long getFirstSeed() {
+        return this.firstSeed;
+    }
+
+    public void setFirstSeed(long firstSeed) {
+        this.firstSeed = firstSeed;
+    }
+
+    public int getGameCount() {
+        return this.gameCount;
+    }
+
+    public void setGameCount(int gameCount) {
+        if (gameCount < 1)
+            throw new IllegalArgumentException("Ungültige Anzahl an Spielen");
+
+        this.gameCount = gameCount;
+    }
+
+    /**
+     * Gibt die Anzahl der Runden zurück, nach der ein Spiel ohne Sieger abgebrochen wird
+     * @return die größte Anzahl an Runden
+     */
+    public int getMaxRounds() {
+        return this.maxRounds;
+    }
+
+    public void setMaxRounds(int maxRounds) {
+        if (maxRounds < 1)
+            throw new IllegalArgumentException("Ungültige Anzahl an Runden");
+
+        this.maxRounds = maxRounds;
+    }
+
+    public int getThreadCount() {
+        return this.threadCount;
+    }
+
+    public void setThreadCount(int threadCount) {
+        if (threadCount < 1)
+            throw new IllegalArgumentException("Ungültige Anzahl an Threads");
+
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Gibt an, ob Angriffe in einem Schritt ausgeführt werden, siehe {@link game.Game#setInstantCombat(boolean)}
+     * @return true für Angriffe in einem Schritt, false für Angriffe Würfel für Würfel
+     */
+    public boolean isInstantCombat() {
+        return this.instantCombat;
+    }
+
+    public void setInstantCombat(boolean instantCombat) {
+        this.instantCombat = instantCombat;
+    }
+}
@@ -0,0 +1,122 @@
+package gui;
+
+import game.Game;
+import game.RandomSource;
+import game.map.GameMap;
+import game.map.GenerationSettings;
+import game.map.MapGenerationListener;
+import game.map.MapSize;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generiert eine Karte im Hintergrund, damit die Oberfläche während der Generierung bedienbar bleibt.
+ * Alle Karten werden nacheinander auf einem gemeinsamen Hintergrund-Thread generiert. Der Fortschritt kann jederzeit
+ * über {@link #getProgress()} abgefragt werden.
+ *
+ * Der Startwert der Karte stammt wie bei {@link Game#start(game.GameInterface)} aus dem Strom
+ * {@link RandomSource#STREAM_MAP} einer eigenen Quelle. Übernimmt das Spiel diese Quelle, siehe
+ * {@link #getRandomSource()}, lässt sich das ganze Spiel einschließlich der Karte mit deren Startwert wiederholen.
+ */
+public class MapGenerationTask implements MapGenerationListener {
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "MapGeneration");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final int playerCount;
+    private final MapSize mapSize;
+    private final int castleCount;
+    private final RandomSource randomSource;
+    private Future<GameMap> future;
+    private volatile double progress;
+    private volatile boolean cancelled;
+
+    private MapGenerationTask(int playerCount, MapSize mapSize, int castleCount) {
+        this.playerCount = playerCount;
+        this.mapSize = mapSize;
+        this.castleCount = castleCount;
+        this.randomSource = new RandomSource();
+    }
+
+    /**
+     * Startet die Generierung einer Karte im Hintergrund, siehe {@link Game#generateMap(int, MapSize, int, MapGenerationListener)}
+     * @param playerCount die Anzahl der Spieler
+     * @param mapSize die Kartengröße
+     * @param castleCount die Anzahl der Burgen oder 0 für die Standardanzahl der Kartengröße
+     * @return die gestartete Generierung
+     */
+    public static MapGenerationTask submit(int playerCount, MapSize mapSize, int castleCount) {
+        MapGenerationTask task = new MapGenerationTask(playerCount, mapSize, castleCount);
+        GenerationSettings settings = new GenerationSettings();
+        settings.setListener(task);
+        settings.setSeed(task.randomSource.stream(RandomSource.STREAM_MAP).nextLong());
+        task.future = EXECUTOR.submit(() -> Game.generateMap(playerCount, mapSize, castleCount, settings));
+        return task;
+    }
+
+    /**
+     * Prüft, ob diese Generierung eine Karte für die angegebenen Einstellungen erzeugt
+     * @param playerCount die Anzahl der Spieler
+     * @param mapSize die Kartengröße
+     * @param castleCount die Anzahl der Burgen oder 0 für die Standardanzahl der Kartengröße
+     * @return true, wenn die Karte für diese Einstellungen verwendet werden kann
+     */
+    public boolean matches(int playerCount, MapSize mapSize, int castleCount) {
+        return this.playerCount == playerCount && this.mapSize == mapSize && this.castleCount == castleCount && !future.isCancelled();
+    }
+
+    /**
+     * Gibt die Quelle zurück, aus der der Startwert der Karte stammt. Sie sollte vor dem Start mit
+     * {@link Game#setRandomSource(RandomSource)} für das Spiel übernommen werden.
+     * @return die Quelle der Zufallszahlen
+     */
+    public RandomSource getRandomSource() {
+        return this.randomSource;
+    }
+
+    @Override
+    public void progress(double fraction) {
+        // Eine abgebrochene Generierung wird beim nächsten Fortschritt beendet, damit sie den Thread nicht blockiert
+        if (cancelled)
+            throw new CancellationException("Kartengenerierung abgebrochen");
+
+        this.progress = fraction;
+    }
+
+    /**
+     * @return der Fortschritt der Generierung zwischen 0 und 1
+     */
+    public double getProgress() {
+        return this.progress;
+    }
+
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    /**
+     * Gibt die generierte Karte zurück und wartet gegebenenfalls, bis die Generierung abgeschlossen ist
+     * @return die Karte
+     * @throws ExecutionException falls bei der Generierung eine Exception aufgetreten ist
+     * @throws InterruptedException falls der wartende Thread unterbrochen wurde
+     */
+    public GameMap getMap() throws ExecutionException, InterruptedException {
+        return future.get();
+    }
+
+    /**
+     * Bricht die Generierung ab. Eine noch nicht begonnene Generierung wird nicht mehr ausgeführt, eine bereits
+     * laufende wird bei der nächsten Fortschrittsmeldung beendet.
+     */
+    public void cancel() {
+        cancelled = true;
+        future.cancel(false);
+    }
+}
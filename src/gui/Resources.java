@@ -46,10 +46,11 @@ public class Resources {
     }
 
     /**
-     * Gibt die Instanz des Resourcen Managers zurück oder erzeugt eine neue
+     * Gibt die Instanz des Resourcen Managers zurück oder erzeugt eine neue. Die Methode ist synchronisiert, da
+     * Karten auch parallel auf mehreren Threads generiert werden, siehe {@link game.simulation.SimulationRunner}.
      * @return Resourcen Manager
      */
-    public static Resources getInstance() {
+    public static synchronized Resources getInstance() {
         if(instance == null) {
             instance = new Resources();
             instance.load();
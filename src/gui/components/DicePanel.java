@@ -10,6 +10,7 @@ import java.util.Random;
 public class DicePanel extends JPanel {
 
     private int diceValues[];
+    // Nur für die Animation, die Augenzahlen eines Wurfs kommen aus dem Spiel, siehe Game#rollDice(int)
     private Random random;
     private Resources resources;
     private int numDices;
@@ -34,7 +35,14 @@ public class DicePanel extends JPanel {
         return result;
     }
 
-    public int[] generateRandom(int numDices, boolean animate) throws InterruptedException {
+    /**
+     * Zeigt einen Wurf an, bei Bedarf nach einer kurzen Animation mit zufälligen Augenzahlen
+     * @param roll die gewürfelten Augenzahlen
+     * @param animate true, wenn vorher gewürfelt werden soll
+     * @throws InterruptedException falls der Thread während der Animation unterbrochen wird
+     */
+    public void showRoll(int[] roll, boolean animate) throws InterruptedException {
+        int numDices = roll.length;
         if(animate) {
             long duration = 1500;
             long start = System.currentTimeMillis();
@@ -54,7 +62,11 @@ public class DicePanel extends JPanel {
             }
         }
 
-        return generateRandom(numDices);
+        this.numDices = numDices;
+        for (int i = 0; i < Math.min(numDices, diceValues.length); i++) {
+            diceValues[i] = roll[i];
+        }
+        repaint();
     }
 
     @Override
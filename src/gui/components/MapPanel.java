@@ -11,6 +11,7 @@ import javax.swing.border.LineBorder;
 
 import base.Edge;
 import game.AI;
+import game.AttackOdds;
 import game.Game;
 import game.map.PathFinding;
 import game.Player;
@@ -31,6 +32,7 @@ public class MapPanel extends JScrollPane {
 
     private static final int CASTLE_SIZE = 50;
     private static final int ICON_SIZE = 20;
+    private static final int BACKGROUND_CACHE_MARGIN = 256;
     private final GameView gameView;
 
     private ImagePanel imagePanel;
@@ -44,6 +46,8 @@ public class MapPanel extends JScrollPane {
     private PathFinding pathFinding;
     private List<Edge<Castle>> highlightedEdges;
     private Castle targetCastle;
+    private BufferedImage backgroundCache;
+    private Rectangle backgroundCacheBounds;
 
     public MapPanel(GameView gameView, Resources resources) {
         super();
@@ -277,7 +281,7 @@ public class MapPanel extends JScrollPane {
                     }
 
                     setCursor(Cursor.getPredefinedCursor(Cursor.CROSSHAIR_CURSOR));
-                    setToolTipText(null);
+                    setToolTipText(getAttackOddsText());
                     return;
                 }
 
@@ -288,6 +292,22 @@ public class MapPanel extends JScrollPane {
         }
     };
 
+    /**
+     * Gibt die Siegchance eines Angriffs mit allen Truppen der ausgewählten Burg auf die Burg unter dem Mauszeiger zurück
+     * @return der Text für den Tooltip oder null, falls gerade kein Angriff auf diese Burg möglich ist
+     */
+    private String getAttackOddsText() {
+        if(currentAction != Action.ATTACKING || targetCastle == null || highlightedEdges == null
+            || selectedCastle.getTroopCount() < 2)
+            return null;
+
+        int attackerTroops = selectedCastle.getTroopCount();
+        int defenderTroops = targetCastle.getTroopCount();
+        return String.format("Siegchance mit allen Truppen: %.0f %%, im Mittel %.1f Truppen übrig",
+            100 * AttackOdds.getWinProbability(attackerTroops, defenderTroops),
+            AttackOdds.getExpectedSurvivors(attackerTroops, defenderTroops));
+    }
+
     private boolean canChooseCastle() {
         if (selectedCastle == null)
             return false;
@@ -343,11 +363,11 @@ public class MapPanel extends JScrollPane {
         int offsetX = 0;
         int offsetY = 0;
 
-        if (getSize().getWidth() > map.getBackgroundImage().getWidth())
-            offsetX = (int) ((getSize().getWidth() - map.getBackgroundImage().getWidth()) / 2);
+        if (getSize().getWidth() > map.getWidth())
+            offsetX = (int) ((getSize().getWidth() - map.getWidth()) / 2);
 
-        if (getSize().getHeight() > map.getBackgroundImage().getHeight())
-            offsetY = (int) ((getSize().getHeight() - map.getBackgroundImage().getHeight()) / 2);
+        if (getSize().getHeight() > map.getHeight())
+            offsetY = (int) ((getSize().getHeight() - map.getHeight()) / 2);
 
         return new Point(p.x + offsetX, p.y + offsetY);
     }
@@ -356,11 +376,11 @@ public class MapPanel extends JScrollPane {
         int offsetX = 0;
         int offsetY = 0;
 
-        if (getSize().getWidth() > map.getBackgroundImage().getWidth())
-            offsetX = (int) ((getSize().getWidth() - map.getBackgroundImage().getWidth()) / 2);
+        if (getSize().getWidth() > map.getWidth())
+            offsetX = (int) ((getSize().getWidth() - map.getWidth()) / 2);
 
-        if (getSize().getHeight() > map.getBackgroundImage().getHeight())
-            offsetY = (int) ((getSize().getHeight() - map.getBackgroundImage().getHeight()) / 2);
+        if (getSize().getHeight() > map.getHeight())
+            offsetY = (int) ((getSize().getHeight() - map.getHeight()) / 2);
 
         JViewport jp = this.getViewport();
         return new Point(p.x - offsetX + jp.getViewPosition().x, p.y - offsetY + jp.getViewPosition().y);
@@ -369,10 +389,50 @@ public class MapPanel extends JScrollPane {
     public void setGame(Game game) {
         this.game = game;
         this.map = game.getMap();
+        this.backgroundCache = null;
+        this.backgroundCacheBounds = null;
         this.imagePanel.setSize(map.getSize());
         this.repaint();
     }
 
+    /**
+     * Zeichnet den sichtbaren Ausschnitt des Hintergrundbilds. Das Hintergrundbild der Karte ist ein Palettenbild,
+     * welches nur langsam gezeichnet werden kann. Daher wird der sichtbare Bereich (mit etwas Rand zum Scrollen)
+     * einmalig in ein kompatibles Bild kopiert und erst neu erzeugt, wenn der sichtbare Bereich dieses verlässt.
+     * @param g das Graphics-Objekt
+     * @param visible der sichtbare Bereich des Panels
+     * @param offset die Position der Karte im Panel
+     */
+    private void drawBackground(Graphics g, Rectangle visible, Point offset) {
+        BufferedImage background = map.getBackgroundImage();
+        if (background == null)
+            return;
+
+        Rectangle mapBounds = new Rectangle(0, 0, background.getWidth(), background.getHeight());
+        Rectangle region = new Rectangle(visible.x - offset.x, visible.y - offset.y, visible.width, visible.height).intersection(mapBounds);
+        if (region.isEmpty())
+            return;
+
+        if (backgroundCacheBounds == null || !backgroundCacheBounds.contains(region)) {
+            region.grow(BACKGROUND_CACHE_MARGIN, BACKGROUND_CACHE_MARGIN);
+            region = region.intersection(mapBounds);
+
+            if (backgroundCache == null || backgroundCache.getWidth() != region.width || backgroundCache.getHeight() != region.height) {
+                GraphicsConfiguration gc = getGraphicsConfiguration();
+                backgroundCache = gc != null ? gc.createCompatibleImage(region.width, region.height) :
+                    new BufferedImage(region.width, region.height, BufferedImage.TYPE_INT_RGB);
+            }
+
+            Graphics2D cacheGraphics = backgroundCache.createGraphics();
+            cacheGraphics.drawImage(background, 0, 0, region.width, region.height,
+                region.x, region.y, region.x + region.width, region.y + region.height, null);
+            cacheGraphics.dispose();
+            backgroundCacheBounds = region;
+        }
+
+        g.drawImage(backgroundCache, offset.x + backgroundCacheBounds.x, offset.y + backgroundCacheBounds.y, null);
+    }
+
     class ImagePanel extends JPanel {
 
         @Override
@@ -387,12 +447,16 @@ public class MapPanel extends JScrollPane {
             Point offset = translate(new Point(0, 0));
 
             if (map != null) {
-                g.drawImage(map.getBackgroundImage(), offset.x, offset.y, null);
+                // Auf großen Karten werden nur Burgen und Kanten im sichtbaren Bereich gezeichnet
+                Rectangle visible = getVisibleRect();
+                drawBackground(g, visible, offset);
 
                 if (showConnections) {
                     for (Edge<Castle> edge : map.getEdges()) {
                         Point p1 = translate(edge.getNodeA().getValue().getLocationOnMap());
                         Point p2 = translate(edge.getNodeB().getValue().getLocationOnMap());
+                        if (!visible.intersectsLine(p1.x + CASTLE_SIZE / 2.0, p1.y + CASTLE_SIZE / 2.0, p2.x + CASTLE_SIZE / 2.0, p2.y + CASTLE_SIZE / 2.0))
+                            continue;
 
                         if(highlightedEdges != null && highlightedEdges.contains(edge)) {
                             g2.setStroke(new BasicStroke(3));
@@ -408,8 +472,12 @@ public class MapPanel extends JScrollPane {
                 }
                 
                 for (Castle region : map.getCastles()) {
-                    Color color = region.getOwner() == null ? Color.WHITE : region.getOwner().getColor();
                     Point location = translate(region.getLocationOnMap());
+                    // Die Truppenanzahl wird unterhalb der Burg gezeichnet
+                    if (!visible.intersects(location.x - CASTLE_SIZE, location.y, 3 * CASTLE_SIZE, 2 * CASTLE_SIZE))
+                        continue;
+
+                    Color color = region.getOwner() == null ? Color.WHITE : region.getOwner().getColor();
                     BufferedImage castle = resources.getCastle(color, region.getType());
                     g.drawImage(castle, location.x, location.y, null);
 
@@ -3,6 +3,7 @@ package gui.views;
 import game.*;
 import game.map.MapSize;
 import gui.GameWindow;
+import gui.MapGenerationTask;
 import gui.View;
 import gui.components.ColorChooserButton;
 import gui.components.NumberChooser;
@@ -15,21 +16,28 @@ import java.awt.font.TextAttribute;
 import java.util.*;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 public class GameMenu extends View {
 
     private JLabel lblTitle;
     private JLabel lblPlayerCount;
     private JLabel lblMapSize;
+    private JLabel lblCastleCount;
     private JLabel lblGoal;
     private JTextArea lblGoalDescription;
 
     private NumberChooser playerCount;
     private JComboBox mapSize;
+    private JTextField castleCount;
     private JComboBox goal;
     private JComponent[][] playerConfig;
     private JButton btnStart, btnBack;
 
+    // Im Hintergrund generierte Karte für die aktuell gewählten Einstellungen
+    private MapGenerationTask pregeneratedMap;
+
     // map size, type?
     // goal?
 
@@ -70,6 +78,8 @@ public class GameMenu extends View {
         offsetX = (getWidth() - 2*columnWidth - 25) / 2 + columnWidth + 25 + (columnWidth - mapSize.getWidth()) / 2;
         lblMapSize.setLocation(offsetX, offsetY); offsetY += lblMapSize.getHeight();
         mapSize.setLocation(offsetX, offsetY); offsetY += mapSize.getHeight() + 10;
+        lblCastleCount.setLocation(offsetX, offsetY); offsetY += lblCastleCount.getHeight();
+        castleCount.setLocation(offsetX, offsetY); offsetY += castleCount.getHeight() + 10;
         lblGoal.setLocation(offsetX, offsetY); offsetY += lblGoal.getHeight();
         goal.setLocation(offsetX, offsetY); offsetY += goal.getHeight();
         lblGoalDescription.setLocation(offsetX, offsetY);
@@ -92,7 +102,10 @@ public class GameMenu extends View {
         lblPlayerCount = createLabel("Anzahl Spieler:", 16);
         playerCount = new NumberChooser(2, GameConstants.MAX_PLAYERS, 2);
         playerCount.setSize(125, 25);
-        playerCount.addValueListener((oldValue, newValue) -> onResize());
+        playerCount.addValueListener((oldValue, newValue) -> {
+            onResize();
+            pregenerateMap();
+        });
         add(playerCount);
 
         // Player rows:
@@ -121,6 +134,32 @@ public class GameMenu extends View {
         // GameMap config
         lblMapSize = createLabel("Kartengröße", 16);
         mapSize = createCombobox(MapSize.getMapSizes(), MapSize.SMALL.ordinal());
+        mapSize.addItemListener(itemEvent -> {
+            if(itemEvent.getStateChange() == ItemEvent.SELECTED)
+                pregenerateMap();
+        });
+
+        // Leer lassen für die Standardanzahl der Kartengröße
+        lblCastleCount = createLabel("Anzahl Burgen (optional)", 16);
+        castleCount = new JTextField();
+        castleCount.setSize(mapSize.getWidth(), 25);
+        castleCount.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                pregenerateMap();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                pregenerateMap();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                pregenerateMap();
+            }
+        });
+        add(castleCount);
 
         // Goals
         Vector<String> goalNames = new Vector<>();
@@ -153,6 +192,8 @@ public class GameMenu extends View {
                         }
                         ((JComboBox<?>)mapSize).setSelectedIndex(MapSize.SMALL.ordinal());
                         ((JComboBox<?>)mapSize).setEnabled(false);
+                        castleCount.setText("");
+                        castleCount.setEnabled(false);
                         ((JComboBox<?>)playerConfig[0][3]).setSelectedIndex(0);
                         ((JComboBox<?>)playerConfig[0][3]).setEnabled(false);
                         ((JComboBox<?>)playerConfig[1][3]).setSelectedIndex(3);
@@ -162,6 +203,7 @@ public class GameMenu extends View {
             	}else {
             		playerCount.setMax(GameConstants.MAX_PLAYERS);
             		((JComboBox<?>)mapSize).setEnabled(true);
+            		castleCount.setEnabled(true);
             		((JComboBox<?>)playerConfig[0][3]).setSelectedIndex(0);
                     ((JComboBox<?>)playerConfig[0][3]).setEnabled(true);
             		((JComboBox<?>)playerConfig[1][3]).setSelectedIndex(0);
@@ -174,8 +216,48 @@ public class GameMenu extends View {
         btnBack = createButton("Zurück");
         btnStart = createButton("Starten");
 
-        getWindow().setSize(750, 450);
-        getWindow().setMinimumSize(new Dimension(750, 450));
+        getWindow().setSize(750, 500);
+        getWindow().setMinimumSize(new Dimension(750, 500));
+
+        pregenerateMap();
+    }
+
+    /**
+     * Generiert im Hintergrund eine Karte für die aktuell gewählte Spieleranzahl und Kartengröße, damit sie beim Starten
+     * meist schon fertig ist. Das Spielziel hat keinen Einfluss auf die Karte. Eine Karte für veraltete Einstellungen
+     * wird verworfen.
+     */
+    private void pregenerateMap() {
+        int mapSizeIndex = this.mapSize.getSelectedIndex();
+        int castleCount = getCastleCount();
+        if (mapSizeIndex < 0 || mapSizeIndex >= MapSize.values().length || castleCount < 0)
+            return;
+
+        int playerCount = this.playerCount.getValue();
+        MapSize mapSize = MapSize.values()[mapSizeIndex];
+        if (pregeneratedMap != null && pregeneratedMap.matches(playerCount, mapSize, castleCount))
+            return;
+
+        if (pregeneratedMap != null)
+            pregeneratedMap.cancel();
+        pregeneratedMap = MapGenerationTask.submit(playerCount, mapSize, castleCount);
+    }
+
+    /**
+     * Liest die eingegebene Anzahl an Burgen
+     * @return die Anzahl, 0 für die Standardanzahl der Kartengröße oder -1, falls die Eingabe ungültig ist
+     */
+    private int getCastleCount() {
+        String text = castleCount.getText().trim();
+        if (text.isEmpty())
+            return 0;
+
+        try {
+            int count = Integer.parseInt(text);
+            return count >= MapSize.MIN_CASTLES && count <= MapSize.MAX_CASTLES ? count : -1;
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
     }
 
     @Override
@@ -203,6 +285,13 @@ public class GameMenu extends View {
                     return;
                 }
 
+                int castleCount = getCastleCount();
+                if (castleCount < 0) {
+                    showErrorMessage(String.format("Bitte geben Sie eine Anzahl an Burgen zwischen %d und %d an oder lassen Sie das Feld leer.",
+                        MapSize.MIN_CASTLES, MapSize.MAX_CASTLES), "Ungültige Eingaben");
+                    return;
+                }
+
                 // Should never happen
                 if (goalIndex < 0 || goalIndex >= GameConstants.GAME_GOALS.length) {
                     showErrorMessage("Bitte geben Sie ein gültiges Spielziel an.", "Ungültige Eingaben");
@@ -240,8 +329,27 @@ public class GameMenu extends View {
                 game.setMapSize(MapSize.values()[mapSize]);
                 game.setGoal(goal);
                 GameView gameView = new GameView(getWindow(), game);
-                game.start(gameView);
-                getWindow().setView(gameView);
+
+                // Use the map generated in the background if it fits, the game starts once it is ready
+                MapGenerationTask task = pregeneratedMap != null && pregeneratedMap.matches(playerCount, MapSize.values()[mapSize], castleCount)
+                    ? pregeneratedMap : MapGenerationTask.submit(playerCount, MapSize.values()[mapSize], castleCount);
+                pregeneratedMap = null;
+
+                getWindow().setView(new LoadingView(getWindow(), task, gameMap -> {
+                    try {
+                        game.setMap(gameMap);
+                        game.setRandomSource(task.getRandomSource());
+                        game.start(gameView);
+                        getWindow().setView(gameView);
+                    } catch(IllegalArgumentException ex) {
+                        ex.printStackTrace();
+                        getWindow().setView(this);
+                        showErrorMessage("Fehler beim Erstellen des Spiels: " + ex.getMessage(), "Interner Fehler");
+                    }
+                }, () -> {
+                    getWindow().setView(this);
+                    pregenerateMap();
+                }));
             } catch(IllegalArgumentException ex) {
                 ex.printStackTrace();
                 showErrorMessage("Fehler beim Erstellen des Spiels: " + ex.getMessage(), "Interner Fehler");
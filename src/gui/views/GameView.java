@@ -11,11 +11,14 @@ import javax.swing.text.Style;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.StyledDocument;
 import java.util.List;
+import java.util.SplittableRandom;
 import java.util.stream.Collectors;
 import game.AI;
 import game.Game;
 import game.GameInterface;
 import game.Player;
+import game.RandomSource;
+import game.ScoreEntry;
 import game.map.Castle;
 import gui.GameWindow;
 import gui.View;
@@ -176,8 +179,9 @@ public class GameView extends View implements GameInterface {
                                              .stream()
                                              .filter(c -> c.getOwner() != game.getCurrentPlayer())
                                              .collect(Collectors.toList());
-            Castle castle1 = playerCastles.get((int)Math.random() * playerCastles.size());
-            Castle castle2 = otherCastles.get((int)Math.random() * playerCastles.size());
+            SplittableRandom random = game.getRandomSource().stream(RandomSource.STREAM_SWAP);
+            Castle castle1 = playerCastles.get(random.nextInt(playerCastles.size()));
+            Castle castle2 = otherCastles.get(random.nextInt(otherCastles.size()));
             castle1.setOwner(castle2.getOwner());
             castle2.setOwner(game.getCurrentPlayer());
             map.repaint();
@@ -319,8 +323,8 @@ public class GameView extends View implements GameInterface {
      * all castles divided by the number of players is less than fourty percent 
      */
     
-    double percentage = game.getCurrentPlayer().getCastles(game).size() 
-        / (game.getMap().getCastles().size() / (double) game.getPlayers().size());
+    double percentage = game.getCurrentPlayer().getCastleCount() 
+        / (game.getMap().getCastleCount() / (double) game.getPlayers().size());
     if (game.getRound() != 1 && game.getCurrentPlayer().getJokerAvailable() && percentage <  0.4) {
       this.joker.setEnabled(true);
       gameWindow.invalidate();
@@ -398,10 +402,16 @@ public class GameView extends View implements GameInterface {
     updateStats();
   }
 
+  @Override
+  public void onScoreEntry(ScoreEntry scoreEntry) {
+    getWindow().getResources().addScoreEntry(scoreEntry);
+  }
+
   @Override
   public int[] onRoll(Player player, int dices, boolean fastForward) {
     try {
-      int[] roll = this.dices.generateRandom(dices, !fastForward);
+      int[] roll = game.rollDice(dices);
+      this.dices.showRoll(roll, !fastForward);
       StringBuilder rolls = new StringBuilder();
       rolls.append("%PLAYER% würfelt: ");
       for(int i = 0; i < roll.length; i++) {
@@ -0,0 +1,104 @@
+package gui.views;
+
+import game.map.GameMap;
+import gui.GameWindow;
+import gui.MapGenerationTask;
+import gui.View;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Diese Ansicht wird angezeigt, während eine Karte im Hintergrund generiert wird. Der Fortschritt wird regelmäßig
+ * abgefragt und als Fortschrittsbalken dargestellt. Ist die Karte fertig, wird sie an den angegebenen Consumer übergeben.
+ */
+public class LoadingView extends View {
+
+    private static final int UPDATE_INTERVAL = 50;
+
+    private JLabel lblTitle;
+    private JProgressBar progressBar;
+    private JButton btnCancel;
+
+    private MapGenerationTask task;
+    private Consumer<GameMap> onFinished;
+    private Runnable onCancel;
+    private Timer timer;
+
+    /**
+     * @param gameWindow das Fenster
+     * @param task die laufende Generierung
+     * @param onFinished wird mit der fertigen Karte auf dem Event-Dispatch-Thread aufgerufen
+     * @param onCancel wird aufgerufen, wenn die Generierung abgebrochen wurde oder fehlgeschlagen ist
+     */
+    public LoadingView(GameWindow gameWindow, MapGenerationTask task, Consumer<GameMap> onFinished, Runnable onCancel) {
+        super(gameWindow);
+        this.task = task;
+        this.onFinished = onFinished;
+        this.onCancel = onCancel;
+
+        this.timer = new Timer(UPDATE_INTERVAL, e -> update());
+        this.timer.setInitialDelay(0);
+        this.timer.start();
+    }
+
+    @Override
+    public void onResize() {
+        int offsetY = (getHeight() - lblTitle.getHeight() - progressBar.getHeight() - BUTTON_SIZE.height - 50) / 2;
+        lblTitle.setLocation((getWidth() - lblTitle.getWidth()) / 2, offsetY);
+        offsetY += lblTitle.getHeight() + 25;
+        progressBar.setLocation((getWidth() - progressBar.getWidth()) / 2, offsetY);
+        offsetY += progressBar.getHeight() + 25;
+        btnCancel.setLocation((getWidth() - BUTTON_SIZE.width) / 2, offsetY);
+    }
+
+    @Override
+    protected void onInit() {
+        lblTitle = createLabel("Karte wird generiert...", 25);
+
+        progressBar = new JProgressBar(0, 1000);
+        progressBar.setSize(300, 25);
+        progressBar.setStringPainted(true);
+        add(progressBar);
+
+        btnCancel = createButton("Abbrechen");
+    }
+
+    private void update() {
+        progressBar.setValue((int) (task.getProgress() * 1000));
+        if (!task.isDone())
+            return;
+
+        timer.stop();
+        GameMap gameMap = null;
+        try {
+            gameMap = task.getMap();
+        } catch (CancellationException ex) {
+            // Die Generierung wurde an anderer Stelle abgebrochen, etwa eine verworfene Vorab-Generierung
+            onCancel.run();
+            return;
+        } catch (ExecutionException | InterruptedException ex) {
+            ex.printStackTrace();
+        }
+
+        if (gameMap == null) {
+            showErrorMessage("Die Karte konnte nicht generiert werden.", "Interner Fehler");
+            onCancel.run();
+            return;
+        }
+
+        onFinished.accept(gameMap);
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent actionEvent) {
+        if (actionEvent.getSource() == btnCancel) {
+            timer.stop();
+            task.cancel();
+            onCancel.run();
+        }
+    }
+}
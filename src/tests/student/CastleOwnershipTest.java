@@ -0,0 +1,87 @@
+package tests.student;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.awt.Color;
+import java.awt.Point;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import game.map.Castle;
+import game.map.Kingdom;
+import game.players.Human;
+
+class CastleOwnershipTest {
+
+  @Test
+  void ownershipFollowsCastle() {
+    Human first = new Human("Spieler 1", Color.RED);
+    Human second = new Human("Spieler 2", Color.BLUE);
+    Castle a = new Castle(new Point(0, 0), "A");
+    Castle b = new Castle(new Point(100, 0), "B");
+
+    a.setOwner(first);
+    a.addTroops(1);
+    b.setOwner(first);
+    assertEquals(2, first.getCastleCount());
+
+    List<Castle> copy = first.getCastles(null);
+    b.setOwner(second);
+    assertEquals(2, copy.size());
+    assertEquals(1, first.getCastleCount());
+    assertEquals(1, second.getCastleCount());
+    assertTrue(second.getCastles(null).contains(b));
+
+    // Ohne Truppen verliert der Spieler die Burg
+    a.removeTroops(1);
+    assertEquals(0, first.getCastleCount());
+    assertEquals(null, a.getOwner());
+  }
+
+  @Test
+  void kingdomOwnerFollowsCastles() {
+    Human first = new Human("Spieler 1", Color.RED);
+    Human second = new Human("Spieler 2", Color.BLUE);
+    Kingdom kingdom = new Kingdom(0);
+    Castle a = new Castle(new Point(0, 0), "A");
+    Castle b = new Castle(new Point(100, 0), "B");
+    a.setKingdom(kingdom);
+    b.setKingdom(kingdom);
+
+    a.setOwner(first);
+    assertEquals(null, kingdom.getOwner());
+    assertEquals(1, kingdom.getMissingCastles(first));
+
+    b.setOwner(first);
+    assertEquals(first, kingdom.getOwner());
+    assertEquals(0, kingdom.getMissingCastles(first));
+
+    b.setOwner(second);
+    assertEquals(null, kingdom.getOwner());
+    assertEquals(1, kingdom.getCastleCount(first));
+    assertEquals(1, kingdom.getCastleCount(second));
+  }
+
+  @Test
+  void resetReleasesCastles() {
+    Human player = new Human("Spieler 1", Color.RED);
+    Kingdom kingdom = new Kingdom(0);
+    Castle a = new Castle(new Point(0, 0), "A");
+    Castle b = new Castle(new Point(100, 0), "B");
+    a.setKingdom(kingdom);
+    b.setKingdom(kingdom);
+    a.setOwner(player);
+    b.setOwner(player);
+    assertEquals(player, kingdom.getOwner());
+
+    player.reset();
+    assertEquals(0, player.getCastleCount());
+    assertEquals(null, a.getOwner());
+    assertEquals(null, b.getOwner());
+    assertEquals(null, kingdom.getOwner());
+
+    // Nach dem Zurücksetzen wird eine Burg wieder gezählt
+    a.setOwner(player);
+    assertEquals(1, player.getCastleCount());
+    assertEquals(1, kingdom.getCastleCount(player));
+  }
+}
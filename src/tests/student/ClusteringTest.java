@@ -0,0 +1,88 @@
+package tests.student;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import game.map.Castle;
+import game.map.Clustering;
+import game.map.GameMap;
+import game.map.GenerationSettings;
+import game.map.Kingdom;
+
+class ClusteringTest {
+
+  private static List<Castle> castles(long seed) {
+    GenerationSettings settings = new GenerationSettings();
+    settings.setSeed(seed);
+    settings.setHeadless(true);
+    return GameMap.generateRandomMap(30, 20, 40, 40, 3, settings).getCastles();
+  }
+
+  @Test
+  void clusteringConvergesAndIsStable() {
+    List<Castle> castles = castles(9);
+    List<Kingdom> kingdoms = new Clustering(castles, 4, new Random(1)).getPointsClusters();
+    assertEquals(4, kingdoms.size());
+
+    // k-means++ wählt nie zweimal die gleiche Burg als Zentrum
+    Set<Castle> centers = new HashSet<>();
+    for (Kingdom kingdom : kingdoms) {
+      assertTrue(centers.add(kingdom.getCenter()));
+    }
+
+    // Nach der Konvergenz liegt jede Burg in einem Königreich mit dem nächsten Zentrum
+    int[] first = new int[castles.size()];
+    for (int i = 0; i < castles.size(); i++) {
+      Castle castle = castles.get(i);
+      assertTrue(kingdoms.contains(castle.getKingdom()));
+      double own = castle.distance(castle.getKingdom().getCenter());
+      for (Kingdom kingdom : kingdoms) {
+        assertTrue(own <= castle.distance(kingdom.getCenter()));
+      }
+      first[i] = kingdoms.indexOf(castle.getKingdom());
+    }
+
+    // Mit gleichem Startwert entsteht die gleiche Aufteilung
+    List<Kingdom> again = new Clustering(castles, 4, new Random(1)).getPointsClusters();
+    for (int i = 0; i < castles.size(); i++) {
+      assertEquals(first[i], again.indexOf(castles.get(i).getKingdom()));
+    }
+  }
+
+  private static int[] cluster(List<Castle> castles, boolean parallel) {
+    Clustering clustering = new Clustering(castles, 6, new Random(3));
+    clustering.setParallel(parallel);
+    List<Kingdom> kingdoms = clustering.getPointsClusters();
+
+    int[] result = new int[castles.size() + kingdoms.size()];
+    for (int i = 0; i < castles.size(); i++) {
+      result[i] = kingdoms.indexOf(castles.get(i).getKingdom());
+    }
+    for (int k = 0; k < kingdoms.size(); k++) {
+      result[castles.size() + k] = castles.indexOf(kingdoms.get(k).getCenter());
+    }
+    return result;
+  }
+
+  @Test
+  void parallelClusteringMatchesSequential() {
+    // Viele Burgen auf wenigen Positionen, damit gleiche Abstände häufig vorkommen
+    Random random = new Random(5);
+    List<Castle> sequential = new ArrayList<>();
+    List<Castle> parallel = new ArrayList<>();
+    for (int i = 0; i < 6000; i++) {
+      Point location = new Point(random.nextInt(200), random.nextInt(150));
+      sequential.add(new Castle(location, "Burg " + i));
+      parallel.add(new Castle(location, "Burg " + i));
+    }
+
+    assertArrayEquals(cluster(sequential, false), cluster(parallel, true));
+  }
+}
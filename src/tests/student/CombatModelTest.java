@@ -0,0 +1,65 @@
+package tests.student;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import game.AttackOdds;
+import game.combat.CombatDistribution;
+import game.combat.CombatModel;
+import game.combat.CombatOutcome;
+
+class CombatModelTest {
+
+  @Test
+  void roundProbabilitiesAreExact() {
+    assertEquals(15 / 36.0, CombatModel.getRoundProbability(1, 1, 1), 1e-12);
+    assertEquals(2890 / 7776.0, CombatModel.getRoundProbability(3, 2, 2), 1e-12);
+    assertEquals(2611 / 7776.0, CombatModel.getRoundProbability(3, 2, 1), 1e-12);
+    assertEquals(2275 / 7776.0, CombatModel.getRoundProbability(3, 2, 0), 1e-12);
+
+    // Mit einer Truppe und einem Würfel muss der Angreifer den einzigen Vergleich gewinnen
+    assertEquals(15 / 36.0, CombatModel.getDistribution(2, 1, 1).getConquestProbability(), 1e-12);
+  }
+
+  @Test
+  void samplesFollowDistribution() {
+    CombatDistribution distribution = CombatModel.getDistribution(12, 12, 7);
+    double total = 0;
+    for (int i = 0; i < distribution.getOutcomes().size(); i++) {
+      CombatOutcome outcome = distribution.getOutcomes().get(i);
+      total += distribution.getProbability(i);
+      assertTrue(outcome.isConquered() || outcome.getAttackerTroops() <= 1);
+    }
+    assertEquals(1, total, 1e-9);
+
+    SplittableRandom random = new SplittableRandom(1);
+    int samples = 200000;
+    int conquered = 0;
+    for (int i = 0; i < samples; i++) {
+      if (distribution.sample(random).isConquered())
+        conquered++;
+    }
+    assertEquals(distribution.getConquestProbability(), conquered / (double) samples, 0.005);
+  }
+
+  @Test
+  void attackOddsMatchDistribution() {
+    for (int a = 2; a <= 40; a += 3) {
+      for (int d = 1; d <= 40; d += 4) {
+        CombatDistribution distribution = CombatModel.getDistribution(a, a, d);
+        double survivors = 0;
+        for (int i = 0; i < distribution.getOutcomes().size(); i++) {
+          CombatOutcome outcome = distribution.getOutcomes().get(i);
+          survivors += distribution.getProbability(i) * (outcome.getAttackerTroops() + (outcome.isConquered() ? 1 : 0));
+        }
+        assertEquals(distribution.getConquestProbability(), AttackOdds.getWinProbability(a, d), 1e-9);
+        assertEquals(survivors, AttackOdds.getExpectedSurvivors(a, d), 1e-9);
+      }
+    }
+
+    // Die Tabelle wächst bei Bedarf, auch über ihre Anfangsgröße hinaus
+    assertEquals(CombatModel.getDistribution(120, 120, 90).getConquestProbability(),
+        AttackOdds.getWinProbability(120, 90), 1e-9);
+  }
+}
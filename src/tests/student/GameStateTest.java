@@ -0,0 +1,79 @@
+package tests.student;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import java.awt.Color;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import game.Game;
+import game.GameState;
+import game.map.Castle;
+import game.map.GameMap;
+import game.map.GenerationSettings;
+import game.players.Human;
+
+class GameStateTest {
+
+  private static Game createGame() {
+    GenerationSettings settings = new GenerationSettings();
+    settings.setSeed(1L);
+    settings.setHeadless(true);
+    GameMap map = GameMap.generateRandomMap(30, 20, 40, 20, 3, settings);
+
+    Game game = new Game();
+    game.addPlayer(new Human("Spieler 1", Color.RED));
+    game.addPlayer(new Human("Spieler 2", Color.BLUE));
+    game.setMap(map);
+
+    List<Castle> castles = map.getCastles();
+    for (int i = 0; i < castles.size(); i++) {
+      castles.get(i).setOwner(game.getPlayers().get(i % 2));
+      castles.get(i).addTroops(i % 5 + 1);
+    }
+    game.getPlayers().get(0).addTroops(7);
+    return game;
+  }
+
+  @Test
+  void undoRestoresState() {
+    GameState state = GameState.capture(createGame());
+    GameState before = state.copy();
+    assertEquals(before, state);
+    assertEquals(before.hashCode(), state.hashCode());
+
+    int mark = state.mark();
+    state.placeTroops(0, 3);
+    assertEquals(4, state.getReserve(0));
+    assertEquals(4, state.getTroops(0));
+
+    // Burg 1 (Spieler 2, 2 Truppen) verliert beide Truppen an Burg 0
+    assertTrue(state.applyAttack(0, 1, 0, 2));
+    assertEquals(0, state.getOwner(1));
+    assertEquals(1, state.getTroops(1));
+    assertEquals(3, state.getTroops(0));
+    assertEquals(20 + 50, state.getPoints(0));
+    assertNotEquals(before, state);
+
+    state.undo(mark);
+    assertEquals(before, state);
+  }
+
+  @Test
+  void applyToRestoresGame() {
+    Game game = createGame();
+    GameState state = GameState.capture(game);
+    Castle first = game.getMap().getCastles().get(0);
+    Castle second = game.getMap().getCastles().get(1);
+
+    first.removeTroops(first.getTroopCount());
+    second.setOwner(game.getPlayers().get(0));
+    game.getPlayers().get(0).removeTroops(7);
+
+    state.applyTo(game);
+    assertEquals(state, GameState.capture(game));
+    assertEquals(game.getPlayers().get(0), first.getOwner());
+    assertEquals(game.getPlayers().get(1), second.getOwner());
+    assertEquals(7, game.getPlayers().get(0).getRemainingTroops());
+  }
+}
@@ -1,9 +1,13 @@
 package tests.student;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import java.awt.Point;
 import org.junit.jupiter.api.Test;
 import base.Graph;
+import game.map.Castle;
+import game.map.GameMap;
 
 public class GraphConnectionTest {
 
@@ -48,4 +52,17 @@ public class GraphConnectionTest {
 
     assertFalse(graph.allNodesConnected());
   }
+
+  @Test
+  public void duplicatePointsConnected() {
+    Graph<Castle> graph = new Graph<>();
+    int[][] points = { { 0, 8 }, { 0, 8 }, { 5, 7 }, { 7, 8 }, { 0, 8 } };
+    for (int i = 0; i < points.length; i++) {
+      graph.addNode(new Castle(new Point(points[i][0], points[i][1]), "Burg " + i));
+    }
+
+    // Ohne Kanten gibt es fünf Teilgraphen, die mit vier Kanten verbunden werden
+    assertEquals(4, GameMap.connectGroup(graph));
+    assertTrue(graph.allNodesConnected());
+  }
 }
@@ -0,0 +1,97 @@
+package tests.student;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.awt.Color;
+import org.junit.jupiter.api.Test;
+import game.Game;
+import game.GameInterface;
+import game.GameState;
+import game.Player;
+import game.RandomSource;
+import game.goals.ConquerGoal;
+import game.map.Castle;
+import game.map.GameMap;
+import game.map.GenerationSettings;
+import game.players.BasicAI;
+import game.players.Human;
+
+class HeadlessGameTest {
+
+  private static GameMap createMap(long seed) {
+    GenerationSettings settings = new GenerationSettings();
+    settings.setSeed(seed);
+    settings.setHeadless(true);
+    return GameMap.generateRandomMap(30, 20, 40, 20, 3, settings);
+  }
+
+  private static Game createGame(long seed) {
+    Game game = new Game();
+    game.setHeadless(true);
+    game.setRandomSource(new RandomSource(seed));
+    game.addPlayer(new BasicAI("Computer 1", Color.RED));
+    game.addPlayer(new BasicAI("Computer 2", Color.BLUE));
+    game.setGoal(new ConquerGoal());
+    game.setMap(createMap(seed));
+    return game;
+  }
+
+  @Test
+  void aiGameRunsToCompletion() throws InterruptedException {
+    Game game = createGame(3);
+    game.start(GameInterface.NONE);
+
+    assertTrue(game.play(1000));
+
+    assertNotNull(game.getGoal().getWinner());
+    Player winner = game.getGoal().getWinner();
+    assertEquals(20, winner.getCastleCount());
+  }
+
+  @Test
+  void sameSeedReplaysGame() throws InterruptedException {
+    Game first = createGame(5);
+    first.start(GameInterface.NONE);
+    first.play(1000);
+    Game second = createGame(5);
+    second.start(GameInterface.NONE);
+    second.play(1000);
+
+    assertEquals(first.getRound(), second.getRound());
+    assertEquals(GameState.capture(first), GameState.capture(second));
+  }
+
+  @Test
+  void doAttackSortsDice() {
+    Game game = new Game();
+    game.setHeadless(true);
+    Human attacker = new Human("Spieler 1", Color.RED);
+    Human defender = new Human("Spieler 2", Color.BLUE);
+    game.addPlayer(attacker);
+    game.addPlayer(defender);
+    game.setGoal(new ConquerGoal());
+    game.setMap(createMap(7));
+    game.start(GameInterface.NONE);
+
+    Castle attackerCastle = game.getMap().getCastles().get(0);
+    Castle defenderCastle = game.getMap().getCastles().get(1);
+    attackerCastle.setOwner(attacker);
+    attackerCastle.addTroops(4);
+    defenderCastle.setOwner(defender);
+    defenderCastle.addTroops(3);
+
+    // Unsortiert verlöre der Angreifer den ersten Vergleich (2 gegen 5)
+    int[] rollAttacker = { 2, 6, 4 };
+    int[] rollDefender = { 3, 5 };
+    game.doAttack(attackerCastle, defenderCastle, rollAttacker, rollDefender);
+
+    assertArrayEquals(new int[] { 6, 4, 2 }, rollAttacker);
+    assertArrayEquals(new int[] { 5, 3 }, rollDefender);
+    assertEquals(4, attackerCastle.getTroopCount());
+    assertEquals(1, defenderCastle.getTroopCount());
+    assertEquals(40, attacker.getPoints());
+    assertEquals(0, defender.getPoints());
+  }
+}
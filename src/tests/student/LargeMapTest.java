@@ -0,0 +1,98 @@
+package tests.student;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.awt.Color;
+import java.util.Iterator;
+import org.junit.jupiter.api.Test;
+import game.Game;
+import game.GameInterface;
+import game.RandomSource;
+import game.goals.ConquerGoal;
+import game.map.Castle;
+import game.map.GameMap;
+import game.map.MapGenerationListener;
+import game.map.MapSize;
+import game.players.BasicAI;
+import game.players.Human;
+
+/**
+ * Prüft die Richtwerte aus {@link MapSize} für eine Karte mit 10.000 Burgen. Die Grenzen haben
+ * reichlich Spielraum, damit der Test auch auf langsamen Rechnern besteht.
+ */
+class LargeMapTest {
+
+  private static final long GENERATION_BUDGET_MS = 30000;
+  private static final long TURN_BUDGET_MS = 10000;
+  private static final long MEMORY_BUDGET_BYTES = 256L * 1024 * 1024;
+
+  private static long usedMemory() {
+    Runtime runtime = Runtime.getRuntime();
+    System.gc();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  @Test
+  void hugeMapWithinBudget() throws InterruptedException {
+    long memoryBefore = usedMemory();
+    long start = System.currentTimeMillis();
+    GameMap map = Game.generateMap(2, MapSize.XXL, MapGenerationListener.NONE);
+    long generationTime = System.currentTimeMillis() - start;
+
+    assertNotNull(map);
+    assertEquals(10000, map.getCastles().size());
+    assertTrue(map.getGraph().allNodesConnected());
+    assertTrue("Generierung dauerte " + generationTime + " ms", generationTime < GENERATION_BUDGET_MS);
+    assertTrue(usedMemory() - memoryBefore < MEMORY_BUDGET_BYTES);
+
+    // Ein Mensch und eine KI in einem Spiel mit festem Startwert, die Züge steuert der Test
+    Game game = new Game();
+    Human human = new Human("Spieler 1", Color.RED);
+    BasicAI ai = new BasicAI("Computer", Color.GREEN);
+    game.addPlayer(human);
+    game.addPlayer(ai);
+    game.setGoal(new ConquerGoal());
+    game.setMapSize(MapSize.XXL);
+    game.setMap(map);
+    game.setHeadless(true);
+    game.setRandomSource(new RandomSource(1));
+    game.start(GameInterface.NONE);
+
+    // In der ersten Runde wählen beide abwechselnd Burgen, der Mensch jeweils die nächste freie
+    Iterator<Castle> castles = map.getCastles().iterator();
+    while (game.getRound() == 1) {
+      if (game.getCurrentPlayer() == ai) {
+        playTurn(game, ai);
+        continue;
+      }
+      Castle castle = castles.next();
+      if (castle.getOwner() == null) {
+        game.chooseCastle(castle, human);
+      }
+    }
+
+    // Der Mensch beendet seine Züge ohne Aktion, bis die KI am Zug ist
+    while (game.getCurrentPlayer() != ai) {
+      game.nextTurn();
+    }
+    int castlesBefore = ai.getNumRegions(game);
+    assertTrue(ai.getRemainingTroops() > 0);
+
+    start = System.currentTimeMillis();
+    playTurn(game, ai);
+    long turnTime = System.currentTimeMillis() - start;
+
+    assertEquals(0, ai.getRemainingTroops());
+    assertTrue(ai.getNumRegions(game) > castlesBefore);
+    assertTrue("Zug dauerte " + turnTime + " ms", turnTime < TURN_BUDGET_MS);
+  }
+
+  // Wie Game#play: Die KI zieht und beendet danach ihren Zug, falls sie das nicht selbst getan hat
+  private static void playTurn(Game game, BasicAI ai) throws InterruptedException {
+    ai.playTurn(game);
+    if (!game.isOver() && game.getCurrentPlayer() == ai) {
+      game.nextTurn();
+    }
+  }
+}
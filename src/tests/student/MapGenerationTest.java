@@ -0,0 +1,213 @@
+package tests.student;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.awt.Point;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import base.Edge;
+import base.Graph;
+import base.Node;
+import game.map.Castle;
+import game.map.GameMap;
+import game.map.GenerationSettings;
+import game.map.MapCache;
+import game.map.MapGenerationListener;
+
+class MapGenerationTest {
+
+  private static GameMap generate(long seed) {
+    GenerationSettings settings = new GenerationSettings();
+    settings.setSeed(seed);
+    return GameMap.generateRandomMap(30, 20, 40, 20, 3, settings);
+  }
+
+  private static String describe(GameMap map) {
+    StringBuilder sb = new StringBuilder();
+    for (Castle castle : map.getCastles()) {
+      sb.append(castle.getName()).append(castle.getLocationOnMap()).append(castle.getType()).append(';');
+    }
+    List<Castle> castles = map.getCastles();
+    for (Edge<Castle> edge : map.getEdges()) {
+      sb.append(castles.indexOf(edge.getNodeA().getValue())).append('-')
+        .append(castles.indexOf(edge.getNodeB().getValue())).append(';');
+    }
+    return sb.toString();
+  }
+
+  @Test
+  void sameSeedSameMap() {
+    GameMap first = generate(42);
+    GameMap second = generate(42);
+
+    assertEquals(42, first.getSeed());
+    assertEquals(describe(first), describe(second));
+    for (int x = 0; x < first.getWidth(); x += 7) {
+      for (int y = 0; y < first.getHeight(); y += 7) {
+        assertEquals(first.getBackgroundImage().getRGB(x, y), second.getBackgroundImage().getRGB(x, y));
+      }
+    }
+  }
+
+  @Test
+  void delaunayEdgesConnected() {
+    GenerationSettings settings = new GenerationSettings();
+    settings.setSeed(7L);
+    settings.setEdgeMode(GenerationSettings.EdgeMode.DELAUNAY);
+    GameMap map = GameMap.generateRandomMap(30, 20, 40, 20, 3, settings);
+
+    assertTrue(map.getGraph().allNodesConnected());
+    for (Edge<Castle> edge : map.getEdges()) {
+      assertTrue(edge.getNodeA() != edge.getNodeB());
+    }
+  }
+
+  @Test
+  void everyGeneratedMapIsConnected() {
+    for (long seed = 1; seed <= 10; seed++) {
+      GameMap map = generate(seed);
+
+      assertTrue(map.getGraph().allNodesConnected());
+    }
+  }
+
+  @Test
+  void closestEdgesUnchanged() {
+    // Die Kanten, die das Verfahren CLOSEST vor der Umstellung auf den Nachbarschaftsindex erzeugt hat
+    int[][] expected = { { 0, 12 }, { 1, 3 }, { 2, 7 }, { 3, 4 }, { 4, 14 }, { 5, 15 }, { 6, 11 }, { 7, 19 },
+        { 8, 18 }, { 9, 16 }, { 10, 17 }, { 11, 17 }, { 12, 9 }, { 13, 14 }, { 14, 8 }, { 15, 8 }, { 16, 11 },
+        { 17, 6 }, { 18, 15 }, { 19, 1 }, { 3, 0 }, { 0, 17 }, { 1, 4 }, { 2, 1 }, { 2, 14 }, { 5, 10 }, { 5, 6 },
+        { 7, 3 }, { 9, 17 }, { 13, 8 } };
+
+    GenerationSettings settings = new GenerationSettings();
+    settings.setSeed(4L);
+    settings.setHeadless(true);
+    GameMap map = GameMap.generateRandomMap(30, 20, 40, 20, 3, settings);
+
+    Graph<Castle> graph = map.getGraph();
+    List<Node<Castle>> nodes = graph.getNodes();
+    assertEquals(20, nodes.size());
+    assertEquals(expected.length, graph.getEdges().size());
+    for (int[] edge : expected) {
+      assertNotNull(graph.getEdge(nodes.get(edge[0]), nodes.get(edge[1])));
+    }
+
+    // Nach removeSubs hat keine Burg weniger als zwei Kanten
+    for (Node<Castle> node : nodes) {
+      assertTrue(graph.getEdges(node).size() >= 2);
+    }
+    assertNull(map.getSub());
+  }
+
+  @Test
+  void headlessMatchesInterpolated() {
+    GenerationSettings settings = new GenerationSettings();
+    settings.setSeed(11L);
+    settings.setBackgroundMode(GenerationSettings.BackgroundMode.INTERPOLATED);
+    GameMap withBackground = GameMap.generateRandomMap(30, 20, 40, 20, 3, settings);
+    settings.setHeadless(true);
+    GameMap headless = GameMap.generateRandomMap(30, 20, 40, 20, 3, settings);
+
+    assertNull(headless.getBackgroundImage());
+    assertTrue(headless.isHeadless());
+    assertEquals(withBackground.getSize(), headless.getSize());
+    assertEquals(describe(withBackground), describe(headless));
+  }
+
+  @Test
+  void cachedMapRoundTrips() throws IOException {
+    File directory = Files.createTempDirectory("mapcache").toFile();
+    try {
+      for (boolean headless : new boolean[] { false, true }) {
+        GenerationSettings settings = new GenerationSettings();
+        settings.setSeed(5L);
+        settings.setHeadless(headless);
+        GameMap generated = GameMap.generateRandomMap(30, 20, 40, 20, 3, settings);
+
+        settings.setCache(new MapCache(directory));
+        GameMap.generateRandomMap(30, 20, 40, 20, 3, settings);
+
+        // Eine aus dem Cache geladene Karte durchläuft keine Schritte der Generierung
+        int[] stages = new int[1];
+        settings.setListener(new MapGenerationListener() {
+          @Override
+          public void stageStarted(Stage stage) {
+            stages[0]++;
+          }
+        });
+        GameMap loaded = GameMap.generateRandomMap(30, 20, 40, 20, 3, settings);
+
+        assertEquals(0, stages[0]);
+        assertEquals(headless, loaded.isHeadless());
+        assertEquals(describe(generated), describe(loaded));
+        assertEquals(generated.getKingdoms().size(), loaded.getKingdoms().size());
+        List<Castle> castles = loaded.getCastles();
+        for (int i = 0; i < castles.size(); i++) {
+          assertEquals(generated.getKingdoms().indexOf(generated.getCastles().get(i).getKingdom()),
+              loaded.getKingdoms().indexOf(castles.get(i).getKingdom()));
+        }
+        if (!headless) {
+          for (int x = 0; x < generated.getWidth(); x += 7) {
+            for (int y = 0; y < generated.getHeight(); y += 7) {
+              assertEquals(generated.getBackgroundImage().getRGB(x, y), loaded.getBackgroundImage().getRGB(x, y));
+            }
+          }
+        }
+      }
+      assertEquals(2, directory.listFiles().length);
+    } finally {
+      for (File file : directory.listFiles())
+        file.delete();
+      directory.delete();
+    }
+  }
+
+  @Test
+  void poissonDiskKeepsMinimumDistance() {
+    GenerationSettings settings = new GenerationSettings();
+    settings.setSeed(3L);
+    settings.setPlacementMode(GenerationSettings.PlacementMode.POISSON_DISK);
+    settings.setMinCastleDistance(60);
+    GameMap map = GameMap.generateRandomMap(30, 20, 40, 20, 3, settings);
+
+    List<Castle> castles = map.getCastles();
+    assertEquals(20, castles.size());
+    for (int i = 0; i < castles.size(); i++) {
+      for (int j = i + 1; j < castles.size(); j++) {
+        double distance = castles.get(i).distance(castles.get(j));
+        assertTrue(distance >= settings.getMinCastleDistance());
+      }
+    }
+  }
+
+  @Test
+  void repairJoinsComponentsWithShortestEdge() {
+    // Zwei Dreiecke, die sich an den Burgen (100, 0) und (130, 0) am nächsten sind
+    Graph<Castle> graph = new Graph<>();
+    int[][] points = { { 0, 0 }, { 100, 0 }, { 50, 60 }, { 130, 0 }, { 230, 0 }, { 180, 60 } };
+    List<Node<Castle>> nodes = new ArrayList<>();
+    for (int i = 0; i < points.length; i++) {
+      nodes.add(graph.addNode(new Castle(new Point(points[i][0], points[i][1]), "Burg " + i)));
+    }
+    for (int offset = 0; offset < points.length; offset += 3) {
+      graph.addEdge(nodes.get(offset), nodes.get(offset + 1));
+      graph.addEdge(nodes.get(offset + 1), nodes.get(offset + 2));
+      graph.addEdge(nodes.get(offset + 2), nodes.get(offset));
+    }
+    assertFalse(graph.allNodesConnected());
+
+    assertEquals(1, GameMap.connectGroup(graph));
+    assertTrue(graph.allNodesConnected());
+    assertNotNull(graph.getEdge(nodes.get(1), nodes.get(3)));
+
+    // Ein zusammenhängender Graph bleibt unverändert
+    assertEquals(0, GameMap.connectGroup(graph));
+  }
+}
@@ -0,0 +1,34 @@
+package tests.student;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.jupiter.api.Test;
+import game.goals.BlitzGoal;
+import game.players.BasicAI;
+import game.players.OPAI;
+import game.simulation.GameResult;
+import game.simulation.SimulationReport;
+import game.simulation.SimulationRunner;
+import game.simulation.SimulationSettings;
+
+class SimulationTest {
+
+  @Test
+  void batchCollectsAllGames() throws InterruptedException {
+    SimulationSettings settings = new SimulationSettings();
+    settings.addPlayer(BasicAI.class);
+    settings.addPlayer(OPAI.class);
+    settings.setGoalType(BlitzGoal.class);
+    settings.setGameCount(8);
+    settings.setThreadCount(2);
+
+    SimulationReport report = new SimulationRunner(settings).run();
+    assertEquals(0, report.getFailedGames());
+    assertEquals(8, report.getGameCount());
+    assertEquals(8, report.getWins(0) + report.getWins(1) + report.getDraws());
+
+    for (GameResult result : report.getResults()) {
+      assertTrue(result.getTurns(0) > 0 && result.getTurns(1) > 0);
+    }
+  }
+}